@@ -1,65 +1,150 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final int EXPORT_PREFETCH = 16;
+
+    private final WebClient streamWeb;
+    private final WebClient exportWeb;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         @Qualifier("shareitServerStreamConnector") ClientHttpConnector streamConnector,
+                         @Qualifier("shareitServerExportConnector") ClientHttpConnector exportConnector) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
+        streamWeb = builder.clone()
+                           .clientConnector(streamConnector)
+                           .build();
+        exportWeb = builder.clone()
+                           .clientConnector(exportConnector)
+                           .build();
     }
 
-    public ResponseEntity<Object> create(long userId, BookingDto bookingDto) {
-        return post("", userId, bookingDto);
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> stream(long userId) {
+        return streamWeb.get()
+                        .uri("/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Sharer-User-Id", String.valueOf(userId))
+                        .retrieve()
+                        .toEntityFlux(EVENT_TYPE)
+                        .map(response -> ResponseEntity.status(response.getStatusCode())
+                                                       .contentType(MediaType.TEXT_EVENT_STREAM)
+                                                       .body(response.getBody()));
     }
 
-    public ResponseEntity<Object> get(long userId, Long bookingId) {
+    public ResponseEntity<StreamingResponseBody> exportByOwner(long userId, String format) {
+        ResponseEntity<Flux<DataBuffer>> response = exportWeb.get()
+                                                             .uri("/owner/export?format={format}", format)
+                                                             .header("X-Sharer-User-Id", String.valueOf(userId))
+                                                             .retrieve()
+                                                             .toEntityFlux(DataBuffer.class)
+                                                             .block();
+        Flux<DataBuffer> body = response.getBody()
+                                        .publishOn(Schedulers.boundedElastic(), EXPORT_PREFETCH)
+                                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+        return ResponseEntity.status(response.getStatusCode())
+                             .headers(headers -> {
+                                 headers.setContentType(response.getHeaders().getContentType());
+                                 headers.setContentDisposition(response.getHeaders().getContentDisposition());
+                             })
+                             .body(out -> DataBufferUtils.write(body, out)
+                                                         .doOnNext(DataBufferUtils::release)
+                                                         .blockLast());
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, BookingDto bookingDto, String idempotencyKey) {
+        return post("", userId, bookingDto, idempotencyKey);
+    }
+
+    public Mono<ResponseEntity<Object>> createAll(long userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> get(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getByBooker(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
+    public Mono<ResponseEntity<Object>> getByBooker(long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = "?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
 
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> getByOwner(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
+    public Mono<ResponseEntity<Object>> countByBooker(long userId) {
+        return get("/counts", userId);
+    }
 
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> countByOwner(long userId) {
+        return get("/owner/counts", userId);
     }
 
-    public ResponseEntity<Object> confirm(long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> getByOwner(long userId, BookingState state, Integer from, Integer size,
+                                                   String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = "/owner?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+
+        return get(path, userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> confirm(long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
 
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
+
+    public Mono<ResponseEntity<Object>> confirmAll(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
 }
\ No newline at end of file
@@ -2,17 +2,27 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.model.BadRequestException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -20,56 +30,114 @@ import javax.validation.constraints.PositiveOrZero;
 @Slf4j
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @RequestBody @Valid BookingDto bookingDto) {
+    public Mono<ResponseEntity<Object>> create(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Size(max = 64) @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid BookingDto bookingDto) {
         log.info("Creating booking {}, userId={}", bookingDto, userId);
 
-        return bookingClient.create(userId, bookingDto);
+        return bookingClient.create(userId, bookingDto, idempotencyKey);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull BookingDto> bookingDtos) {
+        log.info("Creating {} bookings, userId={}", bookingDtos.size(), userId);
+
+        return bookingClient.createAll(userId, bookingDtos);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> get(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @Positive @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> get(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @Positive @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
 
         return bookingClient.get(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByBooker(
+    public Mono<ResponseEntity<Object>> getByBooker(
             @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", defaultValue = "20") Integer size
+            @Positive @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateParam));
-        log.info("Get booking by booker with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Get booking by booker with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+
+        return bookingClient.getByBooker(userId, state, from, size, cursor);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> stream(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Open booking stream, userId={}", userId);
+
+        return bookingClient.stream(userId);
+    }
+
+    @GetMapping("/counts")
+    public Mono<ResponseEntity<Object>> countByBooker(@Positive @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Count bookings by booker, userId={}", userId);
 
-        return bookingClient.getByBooker(userId, state, from, size);
+        return bookingClient.countByBooker(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public Mono<ResponseEntity<Object>> countByOwner(@Positive @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Count bookings by owner, userId={}", userId);
+
+        return bookingClient.countByOwner(userId);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getByOwner(
+    public Mono<ResponseEntity<Object>> getByOwner(
             @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", defaultValue = "20") Integer size
+            @Positive @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateParam));
-        log.info("Get booking by owner with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Get booking by owner with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+
+        return bookingClient.getByOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwner(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Pattern(regexp = "(?i)ndjson|csv") @RequestParam(value = "format", defaultValue = "NDJSON") String format
+    ) {
+        log.info("Export bookings by owner as {}, userId={}", format, userId);
+
+        return bookingClient.exportByOwner(userId, format);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> confirmAll(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Valid BookingDecisionDto> decisions) {
+        log.info("Confirm {} bookings, userId={}", decisions.size(), userId);
 
-        return bookingClient.getByOwner(userId, state, from, size);
+        return bookingClient.confirmAll(userId, decisions);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> confirm(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @Positive @PathVariable Long bookingId,
-                                          @NotNull @RequestParam(value = "approved") Boolean approved) {
+    public Mono<ResponseEntity<Object>> confirm(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @Positive @PathVariable Long bookingId,
+                                                @NotNull @RequestParam(value = "approved") Boolean approved) {
         log.info("Confirm booking {}, userId={}", bookingId, userId);
 
         return bookingClient.confirm(userId, bookingId, approved);
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingDecisionDto {
+
+    @NotNull
+    @Positive
+    private Long bookingId;
+
+    @NotNull
+    private Boolean approved;
+
+}
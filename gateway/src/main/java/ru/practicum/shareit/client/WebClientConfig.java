@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    @Bean
+    @Primary
+    public ClientHttpConnector shareitServerConnector(
+            @Value("${shareit-server.max-connections}") int maxConnections,
+            @Value("${shareit-server.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.max-idle-time}") Duration maxIdleTime,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.response-timeout}") Duration responseTimeout
+    ) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+                                                                  .maxConnections(maxConnections)
+                                                                  .pendingAcquireTimeout(pendingAcquireTimeout)
+                                                                  .maxIdleTime(maxIdleTime)
+                                                                  .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                                          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                                  (int) connectTimeout.toMillis())
+                                          .responseTimeout(responseTimeout);
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ClientHttpConnector shareitServerStreamConnector(
+            @Value("${shareit-server.stream.max-connections}") int maxConnections,
+            @Value("${shareit-server.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.stream.response-timeout}") Duration responseTimeout
+    ) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server-stream")
+                                                                  .maxConnections(maxConnections)
+                                                                  .pendingAcquireTimeout(pendingAcquireTimeout)
+                                                                  .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                                          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                                  (int) connectTimeout.toMillis())
+                                          .responseTimeout(responseTimeout);
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ClientHttpConnector shareitServerExportConnector(
+            @Value("${shareit-server.export.max-connections}") int maxConnections,
+            @Value("${shareit-server.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.export.response-timeout}") Duration responseTimeout
+    ) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server-export")
+                                                                  .maxConnections(maxConnections)
+                                                                  .pendingAcquireTimeout(pendingAcquireTimeout)
+                                                                  .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                                          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                                  (int) connectTimeout.toMillis())
+                                          .responseTimeout(responseTimeout);
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -2,16 +2,17 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -20,39 +21,52 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto itemDto, String idempotencyKey) {
+        return post("", userId, itemDto, idempotencyKey);
     }
 
-    public ResponseEntity<Object> commentCreate(Long userId, Long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> commentCreate(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> get(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getUserItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                        LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "to", to
         );
 
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserItems(Long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = "?from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+
+        return get(path, userId, parameters);
     }
 
-    public ResponseEntity<Object> getSearchItems(Long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getSearchItems(Long userId, String text, Integer from, Integer size) {
         if (text.isBlank()) {
-            return ResponseEntity.status(200).body(Collections.emptyList());
+            return Mono.just(ResponseEntity.status(200).body(Collections.emptyList()));
         }
 
         Map<String, Object> parameters = Map.of(
@@ -64,12 +78,12 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public void delete(long userId, long itemId) {
-        delete("/" + itemId, userId);
+    public Mono<Void> delete(long userId, long itemId) {
+        return delete("/" + itemId, userId).then();
     }
 
 }
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.utility.Create;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping(path = "/items")
@@ -19,35 +24,47 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Validated({Create.class}) @RequestBody ItemDto itemDto) {
-        return itemClient.create(userId, itemDto);
+    public Mono<ResponseEntity<Object>> create(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Size(max = 64) @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Validated({Create.class}) @RequestBody ItemDto itemDto) {
+        return itemClient.create(userId, itemDto, idempotencyKey);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> commentCreate(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @Positive @PathVariable Long itemId,
-                                                @Validated({Create.class}) @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> commentCreate(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @Positive @PathVariable Long itemId,
+                                                      @Validated({Create.class}) @RequestBody CommentDto commentDto) {
         return itemClient.commentCreate(userId, itemId, commentDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @Positive @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> get(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @Positive @PathVariable Long itemId) {
         return itemClient.get(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Positive @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getUserItems(
+    public Mono<ResponseEntity<Object>> getUserItems(
             @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", defaultValue = "20") Integer size
+            @Positive @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        return itemClient.getUserItems(userId, from, size);
+        return itemClient.getUserItems(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getSearchItems(
+    public Mono<ResponseEntity<Object>> getSearchItems(
             @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "text") String text,
             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
@@ -57,15 +74,15 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Positive @PathVariable Long itemId,
-                                         @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @Positive @PathVariable Long itemId,
+                                               @RequestBody ItemDto itemDto) {
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @DeleteMapping("/{itemId}")
-    public void delete(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                       @Positive @PathVariable Long itemId) {
-        itemClient.delete(userId, itemId);
+    public Mono<Void> delete(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                             @Positive @PathVariable Long itemId) {
+        return itemClient.delete(userId, itemId);
     }
 }
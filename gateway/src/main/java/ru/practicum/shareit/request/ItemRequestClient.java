@@ -2,14 +2,14 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,24 +18,23 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestDto requestDto, String idempotencyKey) {
+        return post("", userId, requestDto, idempotencyKey);
     }
 
-    public ResponseEntity<Object> get(long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> get(long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getUserRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getUserRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,13 +43,17 @@ public class ItemRequestClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-
-        return get("/all?from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllRequests(Long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = "/all?from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+
+        return get(path, userId, parameters);
     }
 
 }
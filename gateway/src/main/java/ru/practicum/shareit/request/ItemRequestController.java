@@ -4,11 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.utility.Create;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -18,19 +20,21 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Validated({Create.class}) @RequestBody ItemRequestDto requestDto) {
-        return requestClient.create(userId, requestDto);
+    public Mono<ResponseEntity<Object>> create(
+            @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Size(max = 64) @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Validated({Create.class}) @RequestBody ItemRequestDto requestDto) {
+        return requestClient.create(userId, requestDto, idempotencyKey);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(@Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long requestId) {
         return requestClient.get(userId, requestId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(
+    public Mono<ResponseEntity<Object>> getUserRequests(
             @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
             @Positive @RequestParam(value = "size", defaultValue = "10") Integer size
@@ -39,13 +43,14 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(
+    public Mono<ResponseEntity<Object>> getAllRequests(
             @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", defaultValue = "10") Integer size
+            @Positive @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
 
-        return requestClient.getAllRequests(userId, from, size);
+        return requestClient.getAllRequests(userId, from, size, cursor);
     }
 
 }
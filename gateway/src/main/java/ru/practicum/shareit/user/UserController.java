@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.utility.Create;
 import ru.practicum.shareit.utility.Update;
@@ -18,30 +19,30 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Validated({Create.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Validated({Create.class}) @RequestBody UserDto userDto) {
         return userClient.create(userDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> get(@Positive @PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> get(@Positive @PathVariable Long id) {
         return userClient.get(id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return userClient.getAll();
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(
+    public Mono<ResponseEntity<Object>> update(
             @Positive @PathVariable Long id, @Validated({Update.class}) @RequestBody UserDto userDto
     ) {
         return userClient.update(id, userDto);
     }
 
     @DeleteMapping("/{id}")
-    public void delete(@Positive @PathVariable Long id) {
-        userClient.delete(id);
+    public Mono<Void> delete(@Positive @PathVariable Long id) {
+        return userClient.delete(id);
     }
 
 }
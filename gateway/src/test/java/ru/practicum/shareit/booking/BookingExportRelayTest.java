@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExportRelayTest {
+    private static final String PATH = "/bookings/owner/export";
+    private static final String ROWS = IntStream.rangeClosed(1, 5_000)
+                                                .mapToObj(id -> "{\"id\":" + id + "}\n")
+                                                .collect(Collectors.joining());
+
+    private static HttpServer server;
+
+    @Autowired
+    MockMvc mvc;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings/owner/export", BookingExportRelayTest::export);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @Test
+    void testExportIsRelayed() throws Exception {
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get(PATH + "?format=ndjson")
+                                                             .header("X-Sharer-User-Id", 1L))
+                              .andExpect(request().asyncStarted())
+                              .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+           .andExpect(status().isOk())
+           .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+           .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\""))
+           .andExpect(content().string(ROWS));
+    }
+
+    @Test
+    void testExportErrorIsPassedThrough() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(PATH)
+                                          .header("X-Sharer-User-Id", 99L))
+           .andExpect(status().isNotFound())
+           .andExpect(content().json("{\"error\":\"User Id=99\"}"));
+    }
+
+    @Test
+    void testExportWithUnknownFormat() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(PATH + "?format=xml")
+                                          .header("X-Sharer-User-Id", 1L))
+           .andExpect(status().isBadRequest());
+    }
+
+    private static void export(HttpExchange exchange) throws IOException {
+        if (!"1".equals(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"))) {
+            byte[] error = "{\"error\":\"User Id=99\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(404, error.length);
+            exchange.getResponseBody().write(error);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/x-ndjson");
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (String row : ROWS.split("(?<=\n)")) {
+                body.write(row.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
@@ -1,24 +1,52 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingStreamService;
 import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingStreamService bookingStreamService;
+    private final BookingExportService bookingExportService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public BookingDtoResponse create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                     @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                      @RequestBody BookingDto bookingDto) {
-        return bookingService.create(userId, bookingDto);
+        if (idempotencyKey == null) {
+            return bookingService.create(userId, bookingDto);
+        }
+
+        return idempotencyService.execute(userId, idempotencyKey, "POST /bookings", bookingDto, BookingDtoResponse.class,
+                () -> bookingService.create(userId, bookingDto));
+    }
+
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @RequestBody List<BookingDto> bookingDtos) {
+        return bookingService.createAll(userId, bookingDtos);
     }
 
     @GetMapping("/{bookingId}")
@@ -28,29 +56,79 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoResponse> getByBooker(
+    public ResponseEntity<List<BookingDtoResponse>> getByBooker(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @RequestParam(value = "size", defaultValue = "10") Integer size
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateParam));
 
-        return bookingService.getByBooker(userId, state, from, size);
+        List<BookingDtoResponse> bookings = cursor == null
+                ? bookingService.getByBooker(userId, state, from, size)
+                : bookingService.getByBooker(userId, state, PageCursor.decodeWithTimestamp(cursor), size);
+
+        return PageCursor.toResponse(bookings, size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingStreamService.subscribe(userId);
+    }
+
+    @GetMapping("/counts")
+    public Map<BookingState, Long> countByBooker(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.countByBooker(userId);
+    }
+
+    @GetMapping("/owner/counts")
+    public Map<BookingState, Long> countByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.countByOwner(userId);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoResponse> getByOwner(
+    public ResponseEntity<List<BookingDtoResponse>> getByOwner(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @RequestParam(value = "size", defaultValue = "10") Integer size
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateParam));
 
-        return bookingService.getByOwner(userId, state, from, size);
+        List<BookingDtoResponse> bookings = cursor == null
+                ? bookingService.getByOwner(userId, state, from, size)
+                : bookingService.getByOwner(userId, state, PageCursor.decodeWithTimestamp(cursor), size);
+
+        return PageCursor.toResponse(bookings, size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "format", defaultValue = "NDJSON") String formatParam
+    ) {
+        ExportFormat format = ExportFormat.from(formatParam)
+                .orElseThrow(() -> new BadRequestException("Unknown format: " + formatParam));
+
+        return ResponseEntity.ok()
+                             .contentType(format.getMediaType())
+                             .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                     .filename("bookings." + format.getExtension())
+                                     .build()
+                                     .toString())
+                             .body(bookingExportService.exportByOwner(userId, format));
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResult> confirmAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.confirmAll(userId, decisions);
     }
 
     @PatchMapping("/{bookingId}")
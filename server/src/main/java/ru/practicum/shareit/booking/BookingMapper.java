@@ -2,7 +2,17 @@ package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static ru.practicum.shareit.item.ItemMapper.toItemShortDto;
+import static ru.practicum.shareit.user.UserMapper.toUserShortDto;
 
 public class BookingMapper {
     private BookingMapper() {
@@ -17,8 +27,19 @@ public class BookingMapper {
                 booking.getId(),
                 booking.getStart(),
                 booking.getEnd(),
-                booking.getItem(),
-                booking.getBooker(),
+                toItemShortDto(booking.getItem()),
+                toUserShortDto(booking.getBooker()),
+                booking.getStatus()
+        );
+    }
+
+    public static BookingDtoResponse toBookingDtoResponse(BookingView booking) {
+        return new BookingDtoResponse(
+                booking.getId(),
+                booking.getStartDate(),
+                booking.getEndDate(),
+                new ItemShortDto(booking.getItemId(), booking.getItemName()),
+                new UserShortDto(booking.getBookerId(), booking.getBookerName()),
                 booking.getStatus()
         );
     }
@@ -49,4 +70,19 @@ public class BookingMapper {
         );
     }
 
+    public static Map<BookingState, Long> toStateCounts(BookingStateCounts counts) {
+        Map<BookingState, Long> stateCounts = new EnumMap<>(BookingState.class);
+        stateCounts.put(BookingState.ALL, counts.getTotal());
+        stateCounts.put(BookingState.CURRENT, zeroIfNull(counts.getCurrent()));
+        stateCounts.put(BookingState.PAST, zeroIfNull(counts.getPast()));
+        stateCounts.put(BookingState.FUTURE, zeroIfNull(counts.getFuture()));
+        stateCounts.put(BookingState.WAITING, zeroIfNull(counts.getWaiting()));
+        stateCounts.put(BookingState.REJECTED, zeroIfNull(counts.getRejected()));
+
+        return stateCounts;
+    }
+
+    private static Long zeroIfNull(Long count) {
+        return count == null ? 0L : count;
+    }
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    static Optional<ExportFormat> from(String name) {
+        for (ExportFormat value : ExportFormat.values()) {
+            if (name.equalsIgnoreCase(value.toString())) {
+                return Optional.of(value);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -5,6 +5,7 @@ public enum Status {
     WAITING,    // новое бронирование, ожидает одобрения
     APPROVED,   // бронирование подтверждено владельцем
     REJECTED,   // бронирование отклонено владельцем
-    CANCELED    // бронирование отменено создателем
+    CANCELED,   // бронирование отменено создателем
+    EXPIRED     // бронирование не подтверждено владельцем до начала
 
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingBatchResult {
+
+    private Integer index;
+
+    private Integer status;
+
+    private BookingDtoResponse booking;
+
+    private String error;
+
+}
@@ -2,8 +2,8 @@ package ru.practicum.shareit.booking.dto;
 
 import lombok.*;
 import ru.practicum.shareit.booking.Status;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 
 import java.time.LocalDateTime;
 
@@ -21,9 +21,9 @@ public class BookingDtoResponse {
 
     private LocalDateTime end;
 
-    private Item item;
+    private ItemShortDto item;
 
-    private User booker;
+    private UserShortDto booker;
 
     private Status status;
 
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+public interface BookingView {
+
+    Long getId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    Status getStatus();
+
+    Long getItemId();
+
+    String getItemName();
+
+    Long getBookerId();
+
+    String getBookerName();
+
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class BookingNotification {
+
+    private final Long recipientId;
+
+    private final BookingDtoResponse booking;
+
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ItemBookingSummary {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    @ToString.Exclude
+    private Booking lastBooking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    @ToString.Exclude
+    private Booking nextBooking;
+
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    public boolean isValidAt(LocalDateTime now) {
+        return validUntil == null || validUntil.isAfter(now);
+    }
+
+}
@@ -1,81 +1,304 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.LockOptions;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String BOOKING_VIEW = "SELECT b.id AS id, b.start AS startDate, b.end AS endDate, b.status AS status, " +
+            "i.id AS itemId, i.name AS itemName, u.id AS bookerId, u.name AS bookerName " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u ";
+    String STATE_COUNTS = "SELECT COUNT(b) AS total, " +
+            "SUM(CASE WHEN b.start < :now AND b.end > :now THEN 1 ELSE 0 END) AS current, " +
+            "SUM(CASE WHEN b.end < :now THEN 1 ELSE 0 END) AS past, " +
+            "SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END) AS future, " +
+            "SUM(CASE WHEN b.status = ru.practicum.shareit.booking.Status.WAITING THEN 1 ELSE 0 END) AS waiting, " +
+            "SUM(CASE WHEN b.status = ru.practicum.shareit.booking.Status.REJECTED THEN 1 ELSE 0 END) AS rejected " +
+            "FROM Booking b ";
+    String BUSY_SLOTS = "SELECT new ru.practicum.shareit.item.dto.TimeSlotDto(b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN (ru.practicum.shareit.booking.Status.WAITING, " +
+            "                 ru.practicum.shareit.booking.Status.APPROVED) ";
+    String SKIP_LOCKED = "" + LockOptions.SKIP_LOCKED;
+    String EXPORT_FETCH_SIZE = "500";
 
-    Page<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long bookingId);
 
-    @Query("SELECT b FROM Booking b " +
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :bookerId " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findAllByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
             "WHERE b.booker.id = :userId " +
             "AND b.start < :now " +
             "AND b.end > :now " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findBookingCurrent(Long userId, LocalDateTime now, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingCurrent(Long userId, LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
+    @Query(BOOKING_VIEW +
             "WHERE b.booker.id = :userId " +
             "AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findBookingPast(Long userId, LocalDateTime now, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingPast(Long userId, LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
+    @Query(BOOKING_VIEW +
             "WHERE b.booker.id = :userId " +
             "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findBookingFuture(Long userId, LocalDateTime now, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingFuture(Long userId, LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
+    @Query(BOOKING_VIEW +
             "WHERE b.booker.id = :userId " +
             "AND b.status = :status " +
-            "order by b.start DESC")
-    Page<Booking> findBookingStatus(Long userId, Status status, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingStatus(Long userId, Status status, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+    @Query(STATE_COUNTS +
+            "WHERE b.booker.id = :userId")
+    BookingStateCounts countBookingStates(Long userId, LocalDateTime now);
 
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :ownerId " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :userId " +
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :ownerId " +
+            "ORDER BY b.start DESC, b.id DESC")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<BookingView> streamAllByOwnerId(Long ownerId);
+
+    @Query(STATE_COUNTS +
+            "WHERE b.ownerId = :userId")
+    BookingStateCounts countOwnerStates(Long userId, LocalDateTime now);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
             "AND b.start < :now " +
             "AND b.end > :now " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findOwnerCurrent(Long userId, LocalDateTime now, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerCurrent(Long userId, LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :userId " +
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
             "AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findOwnerPast(Long userId, LocalDateTime now, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerPast(Long userId, LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :userId " +
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
             "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findOwnerFuture(Long userId, LocalDateTime now, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerFuture(Long userId, LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :userId " +
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
             "AND b.status = :status " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findOwnerStatus(Long userId, Status status, Pageable pageable);
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerStatus(Long userId, Status status, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id = :itemId " +
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingAllAfter(Long userId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :userId " +
+            "AND b.start < :now " +
+            "AND b.end > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingCurrentAfter(Long userId, LocalDateTime now,
+                                               LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :userId " +
             "AND b.end < :now " +
-            "ORDER BY b.end DESC")
-    Booking findLast(Long itemId, LocalDateTime now, PageRequest pageable);
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingPastAfter(Long userId, LocalDateTime now,
+                                            LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :userId " +
+            "AND b.start > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingFutureAfter(Long userId, LocalDateTime now,
+                                              LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findBookingStatusAfter(Long userId, Status status,
+                                              LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerAllAfter(Long userId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
+            "AND b.start < :now " +
+            "AND b.end > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerCurrentAfter(Long userId, LocalDateTime now,
+                                             LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
+            "AND b.end < :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerPastAfter(Long userId, LocalDateTime now,
+                                          LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
+            "AND b.start > :now " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerFutureAfter(Long userId, LocalDateTime now,
+                                            LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.ownerId = :userId " +
+            "AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingView> findOwnerStatusAfter(Long userId, Status status,
+                                            LocalDateTime start, Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end " +
+            "AND b.end > :start")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Collection<Status> statuses);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end " +
+            "AND b.end > :start")
+    List<Booking> findAllOverlapping(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end,
+                                     Collection<Status> statuses);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByIdIn(Collection<Long> bookingIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b " +
+            "SET b.status = :status " +
+            "WHERE b.id = :bookingId " +
+            "AND b.ownerId = :ownerId " +
+            "AND b.status = ru.practicum.shareit.booking.Status.WAITING")
+    int decide(Long bookingId, Long ownerId, Status status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b " +
+            "SET b.status = :status " +
+            "WHERE b.id IN :bookingIds " +
+            "AND b.ownerId = :ownerId " +
+            "AND b.status = ru.practicum.shareit.booking.Status.WAITING")
+    int decideAll(Collection<Long> bookingIds, Long ownerId, Status status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.status = ru.practicum.shareit.booking.Status.WAITING " +
+            "AND b.start < :deadline " +
+            "ORDER BY b.start")
+    List<Long> findExpirableIdsForUpdate(LocalDateTime deadline, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b " +
+            "SET b.status = ru.practicum.shareit.booking.Status.EXPIRED " +
+            "WHERE b.id IN :bookingIds " +
+            "AND b.status = ru.practicum.shareit.booking.Status.WAITING")
+    int expireAllByIdIn(Collection<Long> bookingIds);
+
+    @Query("SELECT COUNT(b) FROM Booking b " +
+            "WHERE b.status = ru.practicum.shareit.booking.Status.WAITING " +
+            "AND b.start < :deadline")
+    long countExpirable(LocalDateTime deadline);
+
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.id IN :bookingIds")
+    List<Long> findItemIdsByIdIn(Collection<Long> bookingIds);
+
+    @Query(BUSY_SLOTS +
+            "AND b.end > :from " +
+            "AND b.start < :to " +
+            "ORDER BY b.start")
+    List<TimeSlotDto> findBusySlots(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    @Cacheable(cacheNames = CacheConfig.ITEM_AVAILABILITY, key = "#itemId")
+    @Query(BUSY_SLOTS +
+            "AND b.end > :now " +
+            "ORDER BY b.start")
+    List<TimeSlotDto> findUpcomingBusySlots(Long itemId, LocalDateTime now);
+
+    @Cacheable(cacheNames = CacheConfig.COMMENT_ELIGIBILITY,
+            key = "T(ru.practicum.shareit.cache.CacheConfig).commentEligibilityKey(#bookerId, #itemId)",
+            unless = "!#result")
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.item.id = :itemId " +
+            "AND b.status = ru.practicum.shareit.booking.Status.APPROVED " +
+            "AND b.end < :now")
+    boolean existsCompletedBooking(Long bookerId, Long itemId, LocalDateTime now);
 
     @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.end = (SELECT MAX(l.end) FROM Booking l " +
+            "             WHERE l.item.id = b.item.id " +
+            "             AND l.end < :now)")
+    List<Booking> findAllLast(Collection<Long> itemIds, LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.start = (SELECT MIN(n.start) FROM Booking n " +
+            "               WHERE n.item.id = b.item.id " +
+            "               AND n.start > :now)")
+    List<Booking> findAllNext(Collection<Long> itemIds, LocalDateTime now);
+
+    @Query("SELECT MIN(CASE WHEN b.start > :now THEN b.start ELSE b.end END) FROM Booking b " +
             "WHERE b.item.id = :itemId " +
-            "AND b.start > :now " +
-            "ORDER BY b.start ASC")
-    Booking findNext(Long itemId, LocalDateTime now, PageRequest pageable);
+            "AND b.end > :now")
+    LocalDateTime findSummaryValidUntil(Long itemId, LocalDateTime now);
 }
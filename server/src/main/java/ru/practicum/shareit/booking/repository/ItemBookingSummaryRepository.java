@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Query("SELECT s FROM ItemBookingSummary s " +
+            "LEFT JOIN FETCH s.lastBooking " +
+            "LEFT JOIN FETCH s.nextBooking " +
+            "WHERE s.itemId IN :itemIds")
+    List<ItemBookingSummary> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId FROM ItemBookingSummary s " +
+            "WHERE s.validUntil <= :now " +
+            "ORDER BY s.validUntil")
+    List<Long> findExpiredItemIds(LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.booking-expiry.enabled", havingValue = "true")
+public class BookingExpiryScheduler {
+    private final BookingExpiryService bookingExpiryService;
+    private final Timer sweepTimer;
+    private final Counter expiredCounter;
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${shareit.booking-expiry.batch-size}")
+    private int batchSize;
+
+    public BookingExpiryScheduler(BookingExpiryService bookingExpiryService, MeterRegistry meterRegistry) {
+        this.bookingExpiryService = bookingExpiryService;
+        sweepTimer = Timer.builder("shareit.booking.expiry.sweep")
+                          .description("Time spent expiring one batch of waiting bookings")
+                          .register(meterRegistry);
+        expiredCounter = Counter.builder("shareit.booking.expiry.expired")
+                                .description("Waiting bookings moved to EXPIRED")
+                                .register(meterRegistry);
+        Gauge.builder("shareit.booking.expiry.backlog", backlog, AtomicLong::get)
+             .description("Waiting bookings past their deadline after the last sweep")
+             .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.delay}")
+    public void expire() {
+        int expired;
+        do {
+            expired = sweepTimer.record(() -> bookingExpiryService.expire(batchSize));
+            expiredCounter.increment(expired);
+            if (expired > 0) {
+                log.debug("Expired {} waiting bookings", expired);
+            }
+        } while (expired == batchSize);
+        backlog.set(bookingExpiryService.countExpirable());
+    }
+}
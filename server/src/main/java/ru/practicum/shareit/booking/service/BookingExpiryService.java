@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.service;
+
+public interface BookingExpiryService {
+
+    int expire(int batchSize);
+
+    long countExpirable();
+
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityChangedEvent;
+import ru.practicum.shareit.cache.EntityType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class BookingExpiryServiceImpl implements BookingExpiryService {
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration leadTime;
+
+    public BookingExpiryServiceImpl(BookingRepository bookingRepository, ApplicationEventPublisher eventPublisher,
+                                    @Value("${shareit.booking-expiry.lead-time}") Duration leadTime) {
+        this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.leadTime = leadTime;
+    }
+
+    @Override
+    @Transactional
+    public int expire(int batchSize) {
+        List<Long> bookingIds = bookingRepository.findExpirableIdsForUpdate(deadline(),
+                PageRequest.of(0, batchSize));
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+
+        bookingRepository.expireAllByIdIn(bookingIds);
+        bookingIds.forEach(bookingId ->
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, bookingId)));
+        bookingRepository.findItemIdsByIdIn(bookingIds).forEach(itemId ->
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, itemId)));
+
+        return bookingIds.size();
+    }
+
+    @Override
+    public long countExpirable() {
+        return bookingRepository.countExpirable(deadline());
+    }
+
+    private LocalDateTime deadline() {
+        return LocalDateTime.now().plus(leadTime);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.ExportFormat;
+
+public interface BookingExportService {
+
+    StreamingResponseBody exportByOwner(Long userId, ExportFormat format);
+
+}
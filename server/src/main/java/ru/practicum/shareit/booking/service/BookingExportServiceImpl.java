@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.ExportFormat;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.model.DataNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class BookingExportServiceImpl implements BookingExportService {
+    private static final String CSV_HEADER = "id,start,end,status,itemId,itemName,bookerId,bookerName";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingExportServiceImpl(BookingRepository bookingRepository, UserRepository userRepository,
+                                    ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody exportByOwner(Long userId, ExportFormat format) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        return out -> {
+            try {
+                long rows = transactionTemplate.execute(status -> {
+                    try (Stream<BookingView> bookings = bookingRepository.streamAllByOwnerId(userId)) {
+                        return write(bookings.iterator(), format, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.info("Exported {} bookings of owner id={} as {}", rows, userId, format);
+            } catch (UncheckedIOException e) {
+                log.debug("Booking export of owner id={} aborted", userId);
+                throw e.getCause();
+            }
+        };
+    }
+
+    private long write(Iterator<BookingView> bookings, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        switch (format) {
+            case NDJSON:
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.setRootValueSeparator(null);
+                while (bookings.hasNext()) {
+                    writeJson(generator, bookings.next());
+                    rows++;
+                }
+                generator.flush();
+                break;
+            case CSV:
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+                while (bookings.hasNext()) {
+                    writeCsv(writer, bookings.next());
+                    rows++;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        writer.flush();
+
+        return rows;
+    }
+
+    private void writeJson(JsonGenerator generator, BookingView booking) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", booking.getId());
+        generator.writeStringField("start", DATE_FORMAT.format(booking.getStartDate()));
+        generator.writeStringField("end", DATE_FORMAT.format(booking.getEndDate()));
+        generator.writeStringField("status", booking.getStatus().name());
+        generator.writeNumberField("itemId", booking.getItemId());
+        generator.writeStringField("itemName", booking.getItemName());
+        generator.writeNumberField("bookerId", booking.getBookerId());
+        generator.writeStringField("bookerName", booking.getBookerName());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsv(Writer writer, BookingView booking) throws IOException {
+        writer.write(String.join(",",
+                String.valueOf(booking.getId()),
+                DATE_FORMAT.format(booking.getStartDate()),
+                DATE_FORMAT.format(booking.getEndDate()),
+                booking.getStatus().name(),
+                String.valueOf(booking.getItemId()),
+                escapeCsv(booking.getItemName()),
+                String.valueOf(booking.getBookerId()),
+                escapeCsv(booking.getBookerName())));
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     BookingDtoResponse create(Long userId, BookingDto bookingDto);
@@ -13,7 +17,19 @@ public interface BookingService {
 
     List<BookingDtoResponse> getByBooker(Long userId, BookingState state, int from, int size);
 
+    List<BookingDtoResponse> getByBooker(Long userId, BookingState state, PageCursor after, int size);
+
     List<BookingDtoResponse> getByOwner(Long userId, BookingState state, int from, int size);
 
+    List<BookingDtoResponse> getByOwner(Long userId, BookingState state, PageCursor after, int size);
+
+    Map<BookingState, Long> countByBooker(Long userId);
+
+    Map<BookingState, Long> countByOwner(Long userId);
+
     BookingDtoResponse confirm(Long userId, Long bookingId, boolean approved);
+
+    List<BookingBatchResult> createAll(Long userId, List<BookingDto> bookingDtos);
+
+    List<BookingBatchResult> confirmAll(Long userId, List<BookingDecisionDto> decisions);
 }
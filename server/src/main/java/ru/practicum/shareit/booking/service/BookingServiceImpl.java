@@ -1,17 +1,27 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.event.BookingNotification;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityChangedEvent;
+import ru.practicum.shareit.cache.EntityType;
 import ru.practicum.shareit.exception.model.BadRequestException;
 import ru.practicum.shareit.exception.model.DataNotFoundException;
 import ru.practicum.shareit.item.model.Item;
@@ -19,9 +29,24 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.utility.MyPageRequest;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.BookingMapper.toBooking;
@@ -31,9 +56,13 @@ import static ru.practicum.shareit.booking.BookingMapper.toBookingDtoResponse;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Set<Status> BLOCKING_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingSummaryService bookingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -42,25 +71,25 @@ public class BookingServiceImpl implements BookingService {
         User booker = userRepository.findById(userId)
                                     .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
 
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId())
                                   .orElseThrow(() -> new DataNotFoundException("Item Id=" + bookingDto.getItemId()));
 
-        if (userId.equals(item.getOwner().getId())) {
-            throw new DataNotFoundException("User id=" + userId + " can not booking item id=" + item.getId());
-        }
+        throwNotBookable(userId, item);
 
-        if (Boolean.FALSE.equals(item.getAvailable())) {
-            throw new BadRequestException("Item id=" + item.getId() + " not available");
+        if (bookingRepository.existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd(),
+                BLOCKING_STATUSES)) {
+            throwOverlapping(item, bookingDto);
         }
 
-        bookingDto.setBookerId(userId);
-        Booking booking = toBooking(bookingDto);
-        booking.setBooker(booker);
-        booking.setItem(item);
-        booking.setStatus(Status.WAITING);
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(newBooking(booker, item, bookingDto));
+        bookingSummaryService.refresh(item.getId());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, savedBooking.getId()));
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, item.getId()));
 
-        return toBookingDtoResponse(savedBooking);
+        BookingDtoResponse response = toBookingDtoResponse(savedBooking);
+        eventPublisher.publishEvent(new BookingNotification(item.getOwner().getId(), response));
+
+        return response;
     }
 
     @Override
@@ -80,10 +109,11 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDtoResponse> getByBooker(Long userId, BookingState state, int from, int size) {
 
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
-        Page<Booking> bookingList;
+        Slice<BookingView> bookingList;
         switch (state) {
             case ALL:
                 bookingList = bookingRepository
@@ -119,13 +149,60 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookingDtoResponse> getByBooker(Long userId, BookingState state, PageCursor after, int size) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        LocalDateTime start = after.getTimestamp();
+        Long id = after.getId();
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<BookingView> bookingList;
+        switch (state) {
+            case ALL:
+                bookingList = bookingRepository
+                        .findBookingAllAfter(userId, start, id, pageable);
+                break;
+            case CURRENT:
+                bookingList = bookingRepository
+                        .findBookingCurrentAfter(userId, LocalDateTime.now(), start, id, pageable);
+                break;
+            case PAST:
+                bookingList = bookingRepository
+                        .findBookingPastAfter(userId, LocalDateTime.now(), start, id, pageable);
+                break;
+            case FUTURE:
+                bookingList = bookingRepository
+                        .findBookingFutureAfter(userId, LocalDateTime.now(), start, id, pageable);
+                break;
+            case WAITING:
+                bookingList = bookingRepository
+                        .findBookingStatusAfter(userId, Status.WAITING, start, id, pageable);
+                break;
+            case REJECTED:
+                bookingList = bookingRepository
+                        .findBookingStatusAfter(userId, Status.REJECTED, start, id, pageable);
+                break;
+            default:
+                throw new BadRequestException("Unknown state: " + state);
+        }
+
+        return bookingList
+                .stream()
+                .map(BookingMapper::toBookingDtoResponse)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<BookingDtoResponse> getByOwner(Long userId, BookingState state, int from, int size) {
 
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
-        Page<Booking> bookingList;
+        Slice<BookingView> bookingList;
         switch (state) {
             case ALL:
                 bookingList = bookingRepository
@@ -161,19 +238,282 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookingDtoResponse> getByOwner(Long userId, BookingState state, PageCursor after, int size) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        LocalDateTime start = after.getTimestamp();
+        Long id = after.getId();
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<BookingView> bookingList;
+        switch (state) {
+            case ALL:
+                bookingList = bookingRepository
+                        .findOwnerAllAfter(userId, start, id, pageable);
+                break;
+            case CURRENT:
+                bookingList = bookingRepository
+                        .findOwnerCurrentAfter(userId, LocalDateTime.now(), start, id, pageable);
+                break;
+            case PAST:
+                bookingList = bookingRepository
+                        .findOwnerPastAfter(userId, LocalDateTime.now(), start, id, pageable);
+                break;
+            case FUTURE:
+                bookingList = bookingRepository
+                        .findOwnerFutureAfter(userId, LocalDateTime.now(), start, id, pageable);
+                break;
+            case WAITING:
+                bookingList = bookingRepository
+                        .findOwnerStatusAfter(userId, Status.WAITING, start, id, pageable);
+                break;
+            case REJECTED:
+                bookingList = bookingRepository
+                        .findOwnerStatusAfter(userId, Status.REJECTED, start, id, pageable);
+                break;
+            default:
+                throw new BadRequestException("Unknown state: " + state);
+        }
+
+        return bookingList
+                .stream()
+                .map(BookingMapper::toBookingDtoResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<BookingState, Long> countByBooker(Long userId) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        return BookingMapper.toStateCounts(bookingRepository.countBookingStates(userId, LocalDateTime.now()));
+    }
+
+    @Override
+    public Map<BookingState, Long> countByOwner(Long userId) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        return BookingMapper.toStateCounts(bookingRepository.countOwnerStates(userId, LocalDateTime.now()));
+    }
+
     @Override
     @Transactional
     public BookingDtoResponse confirm(Long userId, Long bookingId, boolean approved) {
 
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
+        int decided = bookingRepository.decide(bookingId, userId, approved ? Status.APPROVED : Status.REJECTED);
         Booking booking = bookingRepository.findById(bookingId)
                                            .orElseThrow(() -> new DataNotFoundException("Booking Id=" + bookingId));
+        if (decided == 0) {
+            throwNotConfirmable(userId, booking);
+            throw new BadRequestException("Booking is checked");
+        }
+
+        bookingSummaryService.refresh(booking.getItem().getId());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, bookingId));
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, booking.getItem().getId()));
 
-        itemRepository.findById(booking.getItem().getId())
-                      .orElseThrow(() -> new DataNotFoundException("Item Id=" + booking.getItem().getId()));
+        BookingDtoResponse response = toBookingDtoResponse(booking);
+        eventPublisher.publishEvent(new BookingNotification(booking.getBooker().getId(), response));
+
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createAll(Long userId, List<BookingDto> bookingDtos) {
+
+        User booker = userRepository.findById(userId)
+                                    .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+
+        Set<Long> itemIds = bookingDtos.stream()
+                                       .map(BookingDto::getItemId)
+                                       .filter(Objects::nonNull)
+                                       .collect(Collectors.toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : itemRepository.findAllByIdInForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> blocking = findBlocking(items.keySet(), bookingDtos);
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < bookingDtos.size(); index++) {
+            BookingDto bookingDto = bookingDtos.get(index);
+            try {
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw new DataNotFoundException("Item Id=" + bookingDto.getItemId());
+                }
+                if (bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+                    throw new BadRequestException("Booking start and end are required");
+                }
+                if (!bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+                    throw new BadRequestException("Start booking must be before end booking");
+                }
+                if (bookingDto.getStart().isBefore(now)) {
+                    throw new BadRequestException("Start booking must not be in the past");
+                }
+                throwNotBookable(userId, item);
+
+                List<Booking> itemBookings = blocking.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                if (itemBookings.stream().anyMatch(booking -> overlaps(booking, bookingDto))) {
+                    throwOverlapping(item, bookingDto);
+                }
+
+                Booking booking = newBooking(booker, item, bookingDto);
+                itemBookings.add(booking);
+                accepted.put(index, booking);
+            } catch (DataNotFoundException | BadRequestException e) {
+                results[index] = failed(index, e);
+            }
+        }
+
+        bookingRepository.saveAll(accepted.values());
+        accepted.forEach((index, booking) -> results[index] = succeeded(index, booking));
+        afterBatch(accepted.values());
+        accepted.forEach((index, booking) -> eventPublisher.publishEvent(
+                new BookingNotification(booking.getItem().getOwner().getId(), results[index].getBooking())));
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> confirmAll(Long userId, List<BookingDecisionDto> decisions) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
+        Set<Long> bookingIds = decisions.stream()
+                                        .map(BookingDecisionDto::getBookingId)
+                                        .filter(Objects::nonNull)
+                                        .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingIds.isEmpty() ? Map.of() : bookingRepository.findAllByIdIn(bookingIds)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        BookingBatchResult[] results = new BookingBatchResult[decisions.size()];
+        Map<Long, Integer> pending = new LinkedHashMap<>();
+        Map<Status, Set<Long>> groups = new EnumMap<>(Status.class);
+        for (int index = 0; index < decisions.size(); index++) {
+            BookingDecisionDto decision = decisions.get(index);
+            try {
+                Booking booking = bookings.get(decision.getBookingId());
+                if (booking == null) {
+                    throw new DataNotFoundException("Booking Id=" + decision.getBookingId());
+                }
+                if (decision.getApproved() == null) {
+                    throw new BadRequestException("Booking Id=" + decision.getBookingId() + " has no decision");
+                }
+                throwNotConfirmable(userId, booking);
+                if (pending.containsKey(booking.getId())) {
+                    throw new BadRequestException("Booking is checked");
+                }
+
+                pending.put(booking.getId(), index);
+                groups.computeIfAbsent(toStatus(decision), status -> new HashSet<>()).add(booking.getId());
+            } catch (DataNotFoundException | BadRequestException e) {
+                results[index] = failed(index, e);
+            }
+        }
+
+        groups.forEach((status, ids) -> bookingRepository.decideAll(ids, userId, status));
+        Map<Long, Booking> decided = pending.isEmpty() ? Map.of() : bookingRepository.findAllByIdIn(pending.keySet())
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<Booking> confirmed = new ArrayList<>();
+        pending.forEach((bookingId, index) -> {
+            Booking booking = decided.get(bookingId);
+            if (booking == null || booking.getStatus() != toStatus(decisions.get(index))) {
+                results[index] = failed(index, new BadRequestException("Booking is checked"));
+                return;
+            }
+            confirmed.add(booking);
+            results[index] = succeeded(index, booking);
+            eventPublisher.publishEvent(
+                    new BookingNotification(booking.getBooker().getId(), results[index].getBooking()));
+        });
+
+        afterBatch(confirmed);
+
+        return Arrays.asList(results);
+    }
+
+    private Map<Long, List<Booking>> findBlocking(Collection<Long> itemIds, List<BookingDto> bookingDtos) {
+        Optional<LocalDateTime> from = bookingDtos.stream()
+                                                  .map(BookingDto::getStart)
+                                                  .filter(Objects::nonNull)
+                                                  .min(Comparator.naturalOrder());
+        Optional<LocalDateTime> to = bookingDtos.stream()
+                                                .map(BookingDto::getEnd)
+                                                .filter(Objects::nonNull)
+                                                .max(Comparator.naturalOrder());
+        if (itemIds.isEmpty() || from.isEmpty() || to.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return bookingRepository.findAllOverlapping(itemIds, from.get(), to.get(), BLOCKING_STATUSES)
+                                .stream()
+                                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                                        HashMap::new, Collectors.toList()));
+    }
+
+    private void afterBatch(Collection<Booking> bookings) {
+        bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(itemId -> {
+                    bookingSummaryService.refresh(itemId);
+                    eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, itemId));
+                });
+        bookings.forEach(booking ->
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, booking.getId())));
+    }
+
+    private static Booking newBooking(User booker, Item item, BookingDto bookingDto) {
+        bookingDto.setBookerId(booker.getId());
+        Booking booking = toBooking(bookingDto);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStatus(Status.WAITING);
+
+        return booking;
+    }
+
+    private static boolean overlaps(Booking booking, BookingDto bookingDto) {
+        return booking.getStart().isBefore(bookingDto.getEnd()) && booking.getEnd().isAfter(bookingDto.getStart());
+    }
+
+    private static void throwNotBookable(Long userId, Item item) {
+        if (userId.equals(item.getOwner().getId())) {
+            throw new DataNotFoundException("User id=" + userId + " can not booking item id=" + item.getId());
+        }
+
+        if (Boolean.FALSE.equals(item.getAvailable())) {
+            throw new BadRequestException("Item id=" + item.getId() + " not available");
+        }
+    }
+
+    private static void throwOverlapping(Item item, BookingDto bookingDto) {
+        throw new BadRequestException("Item id=" + item.getId() + " already booked from "
+                + bookingDto.getStart() + " to " + bookingDto.getEnd());
+    }
+
+    private static void throwNotConfirmable(Long userId, Booking booking) {
         if (!booking.getStatus().equals(Status.WAITING)) {
             throw new BadRequestException("Booking is checked");
         }
@@ -181,15 +521,19 @@ public class BookingServiceImpl implements BookingService {
         if (!userId.equals(booking.getItem().getOwner().getId())) {
             throw new DataNotFoundException("User id=" + userId + " is not owner of item");
         }
+    }
 
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
-        }
-        Booking saveBooking = bookingRepository.save(booking);
+    private static Status toStatus(BookingDecisionDto decision) {
+        return decision.getApproved() ? Status.APPROVED : Status.REJECTED;
+    }
+
+    private static BookingBatchResult succeeded(int index, Booking booking) {
+        return new BookingBatchResult(index, HttpStatus.OK.value(), toBookingDtoResponse(booking), null);
+    }
 
-        return toBookingDtoResponse(saveBooking);
+    private static BookingBatchResult failed(int index, RuntimeException e) {
+        HttpStatus status = e instanceof DataNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+        return new BookingBatchResult(index, status.value(), null, e.getMessage());
     }
 
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface BookingStreamService {
+
+    SseEmitter subscribe(Long userId);
+
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.event.BookingNotification;
+import ru.practicum.shareit.exception.model.DataNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@Slf4j
+public class BookingStreamServiceImpl implements BookingStreamService {
+    private static final String EVENT_NAME = "booking";
+
+    private final UserRepository userRepository;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final ScheduledExecutorService executor;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public BookingStreamServiceImpl(UserRepository userRepository,
+                                    @Value("${shareit.booking-stream.timeout}") Duration timeout,
+                                    @Value("${shareit.booking-stream.heartbeat}") Duration heartbeat,
+                                    @Value("${shareit.booking-stream.buffer-size}") int bufferSize,
+                                    @Value("${shareit.booking-stream.threads}") int threads) {
+        this.userRepository = userRepository;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("booking-stream-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newScheduledThreadPool(threads, threadFactory);
+        executor.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::complete));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Set<Subscriber> updated = userSubscribers == null ? ConcurrentHashMap.newKeySet() : userSubscribers;
+            updated.add(subscriber);
+            return updated;
+        });
+
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotification(BookingNotification notification) {
+        Set<Subscriber> recipients = subscribers.get(notification.getRecipientId());
+        if (recipients == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : recipients) {
+            subscriber.offer(SseEmitter.event()
+                                       .name(EVENT_NAME)
+                                       .id(String.valueOf(notification.getBooking().getId()))
+                                       .data(notification.getBooking(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (userId, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> events = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (!events.offer(event)) {
+                log.warn("Booking stream of user id={} is not keeping up, closing it", userId);
+                remove(this);
+                complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = events.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Booking stream of user id={} closed", userId);
+                        remove(this);
+                        events.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!events.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Booking stream of user id={} already completed", userId);
+            }
+        }
+    }
+}
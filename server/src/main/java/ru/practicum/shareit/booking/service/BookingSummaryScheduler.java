@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking-summary.roll-forward.enabled", havingValue = "true")
+public class BookingSummaryScheduler {
+    private final BookingSummaryService bookingSummaryService;
+
+    @Value("${shareit.booking-summary.roll-forward.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-forward.delay}")
+    public void rollForward() {
+        int refreshed;
+        do {
+            refreshed = bookingSummaryService.rollForward(batchSize);
+            if (refreshed > 0) {
+                log.debug("Rolled forward {} item booking summaries", refreshed);
+            }
+        } while (refreshed == batchSize);
+    }
+}
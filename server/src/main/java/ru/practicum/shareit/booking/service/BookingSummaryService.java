@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface BookingSummaryService {
+
+    void register(Long itemId);
+
+    ItemBookingSummary refresh(Long itemId);
+
+    Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds, LocalDateTime now);
+
+    int rollForward(int batchSize);
+
+}
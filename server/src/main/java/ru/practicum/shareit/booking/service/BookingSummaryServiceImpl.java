@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.cache.CacheConfig;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingSummaryServiceImpl implements BookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Transactional
+    public void register(Long itemId) {
+        summaryRepository.save(new ItemBookingSummary(itemId, null, null, null));
+    }
+
+    @Override
+    @Transactional
+    public ItemBookingSummary refresh(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = List.of(itemId);
+        Booking lastBooking = bookingRepository.findAllLast(itemIds, now).stream().findFirst().orElse(null);
+        Booking nextBooking = bookingRepository.findAllNext(itemIds, now).stream().findFirst().orElse(null);
+
+        return summaryRepository.save(new ItemBookingSummary(itemId, lastBooking, nextBooking,
+                bookingRepository.findSummaryValidUntil(itemId, now)));
+    }
+
+    @Override
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .filter(summary -> summary.isValidAt(now))
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+
+        List<Long> staleItemIds = itemIds.stream()
+                                         .filter(itemId -> !summaries.containsKey(itemId))
+                                         .collect(Collectors.toList());
+        if (!staleItemIds.isEmpty()) {
+            Map<Long, Booking> lastBookings = groupFirstByItemId(bookingRepository.findAllLast(staleItemIds, now));
+            Map<Long, Booking> nextBookings = groupFirstByItemId(bookingRepository.findAllNext(staleItemIds, now));
+            for (Long itemId : staleItemIds) {
+                summaries.put(itemId, new ItemBookingSummary(itemId,
+                        lastBookings.get(itemId), nextBookings.get(itemId), null));
+            }
+        }
+
+        return summaries;
+    }
+
+    @Override
+    @Transactional
+    public int rollForward(int batchSize) {
+        List<Long> itemIds = summaryRepository.findExpiredItemIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        Cache eligibility = cacheManager.getCache(CacheConfig.COMMENT_ELIGIBILITY);
+        for (Long itemId : itemIds) {
+            Booking lastBooking = refresh(itemId).getLastBooking();
+            if (eligibility != null && lastBooking != null && lastBooking.getStatus() == Status.APPROVED) {
+                eligibility.put(CacheConfig.commentEligibilityKey(lastBooking.getBooker().getId(), itemId), true);
+            }
+        }
+
+        return itemIds.size();
+    }
+
+    private static Map<Long, Booking> groupFirstByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                       .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                               Function.identity(),
+                               (first, second) -> first));
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USER_EXISTS = "userExists";
+    public static final String COMMENT_ELIGIBILITY = "commentEligibility";
+    public static final String ITEM_AVAILABILITY = "itemAvailability";
+
+    public static String commentEligibilityKey(Long bookerId, Long itemId) {
+        return bookerId + ":" + itemId;
+    }
+}
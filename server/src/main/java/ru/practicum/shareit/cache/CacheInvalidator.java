@@ -0,0 +1,34 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidator {
+    private final CacheManager cacheManager;
+
+    public void evict(EntityChangedEvent event) {
+        log.debug("Evicting {}", event);
+        for (String name : event.getType().getCaches()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(event.getId());
+            }
+        }
+    }
+
+    public void evictAll() {
+        log.debug("Clearing caches {}", cacheManager.getCacheNames());
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
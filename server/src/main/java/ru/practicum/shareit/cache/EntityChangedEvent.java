@@ -0,0 +1,27 @@
+package ru.practicum.shareit.cache;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class EntityChangedEvent {
+    private static final String SEPARATOR = ":";
+
+    private final EntityType type;
+
+    private final Long id;
+
+    public String toPayload() {
+        return type.name() + SEPARATOR + id;
+    }
+
+    public static EntityChangedEvent fromPayload(String payload) {
+        String[] parts = payload.split(SEPARATOR, 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cache invalidation payload: " + payload);
+        }
+        return new EntityChangedEvent(EntityType.valueOf(parts[0]), Long.valueOf(parts[1]));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.cache;
+
+import java.util.List;
+
+public enum EntityType {
+    USER(List.of(CacheConfig.USER_EXISTS)),
+    ITEM(List.of(CacheConfig.ITEM_AVAILABILITY)),
+    BOOKING(List.of());
+
+    private final List<String> caches;
+
+    EntityType(List<String> caches) {
+        this.caches = caches;
+    }
+
+    public List<String> getCaches() {
+        return caches;
+    }
+}
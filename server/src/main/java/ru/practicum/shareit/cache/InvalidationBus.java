@@ -0,0 +1,7 @@
+package ru.practicum.shareit.cache;
+
+public interface InvalidationBus {
+
+    void publish(EntityChangedEvent event);
+
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class InvalidationEventRelay {
+    private final CacheInvalidator cacheInvalidator;
+    private final InvalidationBus invalidationBus;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void publish(EntityChangedEvent event) {
+        if (!event.getType().getCaches().isEmpty()) {
+            invalidationBus.publish(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void evict(EntityChangedEvent event) {
+        if (!event.getType().getCaches().isEmpty()) {
+            cacheInvalidator.evict(event);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.cache.invalidation.transport", havingValue = "loopback")
+public class LoopbackInvalidationBus implements InvalidationBus {
+    private final CacheInvalidator cacheInvalidator;
+
+    @Override
+    public void publish(EntityChangedEvent event) {
+        cacheInvalidator.evict(event);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.cache.invalidation.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationBus implements InvalidationBus {
+    private static final String CHANNEL = "shareit_cache_invalidation";
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidator cacheInvalidator;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listener.interrupt();
+        listener.join(POLL_TIMEOUT_MILLIS * 2L);
+    }
+
+    @Override
+    public void publish(EntityChangedEvent event) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, event.toPayload());
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                cacheInvalidator.evictAll();
+                log.info("Listening for cache invalidations on {}", CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Cache invalidation listener disconnected, retrying in {} ms", RECONNECT_DELAY_MILLIS, e);
+                pause();
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            cacheInvalidator.evict(EntityChangedEvent.fromPayload(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring cache invalidation {}", payload, e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
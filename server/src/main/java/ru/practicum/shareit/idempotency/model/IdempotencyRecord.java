@@ -0,0 +1,83 @@
+package ru.practicum.shareit.idempotency.model;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyRecord.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode(of = {"userId", "idempotencyKey"})
+public class IdempotencyRecord implements Persistable<IdempotencyRecord.Key> {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(name = "operation", nullable = false)
+    private String operation;
+
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    @Column(name = "response")
+    @ToString.Exclude
+    private String response;
+
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored;
+
+    public IdempotencyRecord(Long userId, String idempotencyKey, String operation, String requestHash,
+                             LocalDateTime created) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.operation = operation;
+        this.requestHash = requestHash;
+        this.created = created;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, idempotencyKey);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    public boolean matches(String operation, String requestHash) {
+        return this.operation.equals(operation) && this.requestHash.equals(requestHash);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private String idempotencyKey;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.idempotency.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.idempotency.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.created < :threshold")
+    int deleteAllCreatedBefore(LocalDateTime threshold);
+}
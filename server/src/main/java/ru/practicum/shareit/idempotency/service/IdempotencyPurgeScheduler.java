@@ -0,0 +1,25 @@
+package ru.practicum.shareit.idempotency.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.idempotency.purge.enabled", havingValue = "true")
+public class IdempotencyPurgeScheduler {
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(fixedDelayString = "${shareit.idempotency.purge.delay}")
+    public void purge() {
+        int purged = idempotencyService.purgeExpired();
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.idempotency.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    String HEADER = "Idempotency-Key";
+
+    <T> T execute(Long userId, String key, String operation, Object request, Class<T> responseType,
+                  Supplier<T> action);
+
+    int purgeExpired();
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.idempotency.model.IdempotencyRecord;
+import ru.practicum.shareit.idempotency.repository.IdempotencyRecordRepository;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int MAX_RESPONSE_LENGTH = 16384;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Map<IdempotencyRecord.Key, KeyLock> locks = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepository, ObjectMapper objectMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${shareit.idempotency.ttl}") Duration ttl) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public <T> T execute(Long userId, String key, String operation, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Invalid " + HEADER + ": " + key);
+        }
+
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(userId, key);
+        String requestHash = DigestUtils.md5DigestAsHex(toJson(request).getBytes(StandardCharsets.UTF_8));
+        KeyLock keyLock = lock(id);
+        try {
+            try {
+                return transactionTemplate.execute(status ->
+                        executeOnce(id, operation, requestHash, responseType, action));
+            } catch (KeyStoredConcurrentlyException e) {
+                log.debug("{} {} was stored concurrently, replaying it", HEADER, key);
+                return transactionTemplate.execute(status ->
+                        executeOnce(id, operation, requestHash, responseType, action));
+            }
+        } finally {
+            unlock(id, keyLock);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return recordRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private <T> T executeOnce(IdempotencyRecord.Key id, String operation, String requestHash,
+                              Class<T> responseType, Supplier<T> action) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyRecord> stored = recordRepository.findById(id);
+
+        if (stored.isPresent() && stored.get().getCreated().isAfter(now.minus(ttl))) {
+            IdempotencyRecord record = stored.get();
+            if (!record.matches(operation, requestHash)) {
+                throw new BadRequestException(HEADER + " " + id.getIdempotencyKey()
+                        + " was already used for a different request");
+            }
+            return fromJson(record.getResponse(), responseType);
+        }
+        stored.ifPresent(record -> {
+            recordRepository.delete(record);
+            recordRepository.flush();
+        });
+
+        IdempotencyRecord record;
+        try {
+            record = recordRepository.saveAndFlush(
+                    new IdempotencyRecord(id.getUserId(), id.getIdempotencyKey(), operation, requestHash, now));
+        } catch (DataIntegrityViolationException e) {
+            throw new KeyStoredConcurrentlyException(e);
+        }
+        T response = action.get();
+        String json = toJson(response);
+        if (json.length() > MAX_RESPONSE_LENGTH) {
+            log.warn("Response for {} {} is too large to be replayed", HEADER, id.getIdempotencyKey());
+            recordRepository.delete(record);
+        } else {
+            record.setResponse(json);
+        }
+
+        return response;
+    }
+
+    private KeyLock lock(IdempotencyRecord.Key id) {
+        KeyLock keyLock = locks.compute(id, (k, current) -> {
+            KeyLock lock = current == null ? new KeyLock() : current;
+            lock.holders++;
+            return lock;
+        });
+        keyLock.lock.lock();
+
+        return keyLock;
+    }
+
+    private void unlock(IdempotencyRecord.Key id, KeyLock keyLock) {
+        keyLock.lock.unlock();
+        locks.computeIfPresent(id, (k, current) -> --current.holders == 0 ? null : current);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class KeyStoredConcurrentlyException extends RuntimeException {
+        private KeyStoredConcurrentlyException(Throwable cause) {
+            super(cause);
+        }
+    }
+
+    private static final class KeyLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int holders;
+    }
+}
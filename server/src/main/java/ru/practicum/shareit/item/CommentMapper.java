@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemDetailView;
 import ru.practicum.shareit.item.model.Comment;
 
 public class CommentMapper {
@@ -16,12 +17,22 @@ public class CommentMapper {
         return new CommentDtoResponse(
                 comment.getId(),
                 comment.getText(),
-                comment.getItem(),
+                comment.getItem().getId(),
                 comment.getAuthor().getName(),
                 comment.getCreated()
         );
     }
 
+    public static CommentDtoResponse toCommentDtoResponse(ItemDetailView detail) {
+        return new CommentDtoResponse(
+                detail.getCommentId(),
+                detail.getCommentText(),
+                detail.getItem().getId(),
+                detail.getAuthorName(),
+                detail.getCommentCreated()
+        );
+    }
+
     public static CommentDto toCommentDto(Comment comment) {
         return new CommentDto(
                 comment.getId(),
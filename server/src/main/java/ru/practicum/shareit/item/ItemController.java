@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utility.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,11 +22,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ItemDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                           @RequestBody ItemDto itemDto) {
-        return itemService.create(userId, itemDto);
+        if (idempotencyKey == null) {
+            return itemService.create(userId, itemDto);
+        }
+
+        return idempotencyService.execute(userId, idempotencyKey, "POST /items", itemDto, ItemDto.class,
+                () -> itemService.create(userId, itemDto));
     }
 
     @PostMapping("/{itemId}/comment")
@@ -35,13 +49,26 @@ public class ItemController {
         return itemService.get(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public List<ItemDtoResponse> getUserItems(
+    public ResponseEntity<List<ItemDtoResponse>> getUserItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @RequestParam(value = "size", defaultValue = "10") Integer size
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        return itemService.getUserItems(userId, from, size);
+        List<ItemDtoResponse> items = cursor == null
+                ? itemService.getUserItems(userId, from, size)
+                : itemService.getUserItems(userId, PageCursor.decode(cursor), size);
+
+        return PageCursor.toResponse(items, size, item -> PageCursor.of(item.getId()));
     }
 
     @GetMapping("/search")
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -22,7 +23,14 @@ public class ItemMapper {
                 null,
                 null,
                 new ArrayList<>(),
-                item.getRequest()
+                item.getRequest() != null ? item.getRequest().getId() : null
+        );
+    }
+
+    public static ItemShortDto toItemShortDto(Item item) {
+        return new ItemShortDto(
+                item.getId(),
+                item.getName()
         );
     }
 
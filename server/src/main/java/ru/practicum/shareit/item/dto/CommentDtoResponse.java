@@ -1,7 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.*;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +16,7 @@ public class CommentDtoResponse {
 
     private String text;
 
-    private Item item;
+    private Long itemId;
 
     private String authorName;
 
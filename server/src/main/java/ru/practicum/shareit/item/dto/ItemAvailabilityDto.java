@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ItemAvailabilityDto {
+
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private List<TimeSlotDto> busy;
+
+    private List<TimeSlotDto> free;
+
+}
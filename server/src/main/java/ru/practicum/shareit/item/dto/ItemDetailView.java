@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+
+public interface ItemDetailView {
+
+    Item getItem();
+
+    Long getSummaryItemId();
+
+    Booking getLastBooking();
+
+    Booking getNextBooking();
+
+    Long getCommentId();
+
+    String getCommentText();
+
+    String getAuthorName();
+
+    LocalDateTime getCommentCreated();
+
+}
@@ -2,7 +2,6 @@ package ru.practicum.shareit.item.dto;
 
 import lombok.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
 
@@ -28,6 +27,6 @@ public class ItemDtoResponse {
 
     private List<CommentDtoResponse> comments;
 
-    private ItemRequest request;
+    private Long requestId;
 
 }
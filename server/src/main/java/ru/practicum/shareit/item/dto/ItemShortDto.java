@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ItemShortDto {
+
+    private Long id;
+
+    private String name;
+
+}
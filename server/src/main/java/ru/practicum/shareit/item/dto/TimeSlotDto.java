@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TimeSlotDto {
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+}
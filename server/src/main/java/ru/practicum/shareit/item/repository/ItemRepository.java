@@ -1,23 +1,54 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDetailView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
 
-    List<Item> findAllByRequestIdOrderById(Long requestId);
+    Slice<Item> findAllByOwnerIdAndIdGreaterThanOrderById(Long ownerId, Long id, Pageable pageable);
+
+    List<Item> findAllByRequestIdInOrderById(Collection<Long> requestIds);
 
     @Query(" SELECT i FROM Item i " +
-            "WHERE UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%') ) " +
-            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))")
-    Page<Item> search(String text, Pageable pageable);
+            "WHERE i.available = TRUE " +
+            "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) " +
+            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', :text, '%')) THEN 0 ELSE 1 END, i.id")
+    Slice<Item> search(String text, Pageable pageable);
+
+    @Query("SELECT i AS item, s.itemId AS summaryItemId, l AS lastBooking, n AS nextBooking, " +
+            "c.id AS commentId, c.text AS commentText, a.name AS authorName, c.created AS commentCreated " +
+            "FROM Item i " +
+            "LEFT JOIN ItemBookingSummary s ON s.itemId = i.id AND i.owner.id = :userId " +
+            "AND (s.validUntil IS NULL OR s.validUntil > :now) " +
+            "LEFT JOIN s.lastBooking l " +
+            "LEFT JOIN s.nextBooking n " +
+            "LEFT JOIN Comment c ON c.item = i " +
+            "LEFT JOIN c.author a " +
+            "WHERE i.id = :itemId " +
+            "ORDER BY c.id")
+    List<ItemDetailView> findDetail(Long itemId, Long userId, LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(Collection<Long> itemIds);
 
 }
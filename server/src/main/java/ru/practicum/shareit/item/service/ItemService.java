@@ -2,9 +2,12 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.utility.PageCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,10 +17,14 @@ public interface ItemService {
 
     ItemDtoResponse get(Long userId, Long itemId);
 
+    ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
+
     List<ItemDto> getSearchItems(String searchText, Integer from, Integer size);
 
     List<ItemDtoResponse> getUserItems(Long userId, Integer from, Integer size);
 
+    List<ItemDtoResponse> getUserItems(Long userId, PageCursor after, Integer size);
+
     ItemDto update(Long userId, Long itemId, ItemDto itemDto);
 
     void delete(Long userId, Long itemId);
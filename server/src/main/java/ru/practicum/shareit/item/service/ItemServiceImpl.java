@@ -1,19 +1,28 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingSummaryService;
+import ru.practicum.shareit.cache.EntityChangedEvent;
+import ru.practicum.shareit.cache.EntityType;
 import ru.practicum.shareit.exception.model.BadRequestException;
 import ru.practicum.shareit.exception.model.DataNotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDetailView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -23,10 +32,13 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.utility.MyPageRequest;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.BookingMapper.toBookingDto;
@@ -43,6 +55,8 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final BookingSummaryService bookingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -59,6 +73,8 @@ public class ItemServiceImpl implements ItemService {
                                                "Request Id=" + itemDto.getRequestId()));
         }
         Item savedItem = itemRepository.save(toItem(itemDto, owner, request));
+        bookingSummaryService.register(savedItem.getId());
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, savedItem.getId()));
 
         return toItemDto(savedItem);
     }
@@ -73,13 +89,9 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                                   .orElseThrow(() -> new DataNotFoundException("Item Id=" + itemId));
 
-        bookingRepository.findBookingPast(userId, LocalDateTime.now(),
-                                 new MyPageRequest(0, 20, Sort.unsorted()))
-                         .stream()
-                         .filter(booking -> booking.getItem().getId().equals(itemId))
-                         .findFirst()
-                         .orElseThrow(() -> new BadRequestException(
-                                 "User id=" + userId + " did not use item id=" + itemId));
+        if (!bookingRepository.existsCompletedBooking(userId, itemId, LocalDateTime.now())) {
+            throw new BadRequestException("User id=" + userId + " did not use item id=" + itemId);
+        }
         Comment comment = toComment(commentDto);
         comment.setAuthor(author);
         comment.setItem(item);
@@ -92,51 +104,80 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDtoResponse get(Long userId, Long itemId) {
 
-        Item item = itemRepository.findById(itemId)
-                                  .orElseThrow(() -> new DataNotFoundException("Item id=" + itemId));
-
-        ItemDtoResponse responseItem = toItemDtoResponse(item);
-        if (userId.equals(item.getOwner().getId())) {
-            responseItem.setLastBooking(
-                    toBookingDto(
-                            bookingRepository.findLast(itemId, LocalDateTime.now(), PageRequest.of(0, 1))
-                    )
-            );
-            responseItem.setNextBooking(
-                    toBookingDto(
-                            bookingRepository.findNext(itemId, LocalDateTime.now(), PageRequest.of(0, 1))
-                    )
-            );
-        }
-        List<CommentDtoResponse> commentList = commentRepository.findAllByItemId(itemId)
-                                                                .stream()
-                                                                .map(CommentMapper::toCommentDtoResponse)
-                                                                .collect(Collectors.toList());
-        responseItem.setComments(commentList);
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemDetailView> rows = itemRepository.findDetail(itemId, userId, now);
+        if (rows.isEmpty()) {
+            throw new DataNotFoundException("Item id=" + itemId);
+        }
+
+        ItemDetailView detail = rows.get(0);
+        ItemDtoResponse responseItem = toItemDtoResponse(detail.getItem());
+        if (detail.getSummaryItemId() != null) {
+            responseItem.setLastBooking(toBookingDto(detail.getLastBooking()));
+            responseItem.setNextBooking(toBookingDto(detail.getNextBooking()));
+        } else if (userId.equals(detail.getItem().getOwner().getId())) {
+            ItemBookingSummary summary = bookingSummaryService.getSummaries(List.of(itemId), now).get(itemId);
+            responseItem.setLastBooking(toBookingDto(summary.getLastBooking()));
+            responseItem.setNextBooking(toBookingDto(summary.getNextBooking()));
+        }
+        responseItem.setComments(new ArrayList<>(rows.stream()
+                .filter(row -> row.getCommentId() != null)
+                .collect(Collectors.toMap(ItemDetailView::getCommentId,
+                        CommentMapper::toCommentDtoResponse,
+                        (first, second) -> first,
+                        LinkedHashMap::new))
+                .values()));
 
         return responseItem;
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Availability range is empty: from=" + from + ", to=" + to);
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new DataNotFoundException("Item id=" + itemId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TimeSlotDto> slots = from.isBefore(now)
+                ? bookingRepository.findBusySlots(itemId, from, to)
+                : bookingRepository.findUpcomingBusySlots(itemId, now);
+        List<TimeSlotDto> busy = mergeBusySlots(slots, from, to);
+        List<TimeSlotDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (TimeSlotDto slot : busy) {
+            if (slot.getStart().isAfter(freeFrom)) {
+                free.add(new TimeSlotDto(freeFrom, slot.getStart()));
+            }
+            freeFrom = slot.getEnd();
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new TimeSlotDto(freeFrom, to));
+        }
+
+        return new ItemAvailabilityDto(itemId, from, to, busy, free);
+    }
+
     @Override
     public List<ItemDtoResponse> getUserItems(Long userId, Integer from, Integer size) {
 
-        return itemRepository
-                .findAllByOwnerIdOrderById(userId, new MyPageRequest(from, size, Sort.unsorted()))
-                .stream()
-                .map(ItemMapper::toItemDtoResponse)
-                .peek(itemDtoResponse -> itemDtoResponse.setLastBooking(
-                        toBookingDto(
-                                bookingRepository.findLast(itemDtoResponse.getId(),
-                                        LocalDateTime.now(), PageRequest.of(0, 1))
-                        )
-                ))
-                .peek(itemDtoResponse -> itemDtoResponse.setNextBooking(
-                        toBookingDto(
-                                bookingRepository.findNext(itemDtoResponse.getId(),
-                                        LocalDateTime.now(), PageRequest.of(0, 1))
-                        )
-                ))
-                .collect(Collectors.toList());
+        return withBookingsAndComments(itemRepository
+                .findAllByOwnerIdOrderById(userId, new MyPageRequest(from, size, Sort.unsorted())));
+    }
+
+    @Override
+    public List<ItemDtoResponse> getUserItems(Long userId, PageCursor after, Integer size) {
+
+        return withBookingsAndComments(itemRepository
+                .findAllByOwnerIdAndIdGreaterThanOrderById(userId, after.getId(), PageRequest.of(0, size)));
     }
 
     @Override
@@ -145,7 +186,6 @@ public class ItemServiceImpl implements ItemService {
         if (!searchText.isBlank()) {
             result = itemRepository.search(searchText, new MyPageRequest(from, size, Sort.unsorted()))
                                    .stream()
-                                   .filter(Item::getAvailable)
                                    .map(ItemMapper::toItemDto)
                                    .collect(Collectors.toList());
         }
@@ -157,8 +197,9 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public ItemDto update(Long userId, Long itemId, ItemDto itemDto) {
 
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
         Item item = itemRepository.findById(itemId)
                                   .orElseThrow(() -> new DataNotFoundException("Item Id=" + itemId));
@@ -175,6 +216,7 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
         Item updatedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, itemId));
 
         return toItemDto(updatedItem);
     }
@@ -189,6 +231,65 @@ public class ItemServiceImpl implements ItemService {
         throwNotOwnerRequest(userId, item);
 
         itemRepository.deleteById(itemId);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, itemId));
+    }
+
+    private List<ItemDtoResponse> withBookingsAndComments(Slice<Item> itemPage) {
+        List<ItemDtoResponse> items = itemPage
+                .stream()
+                .map(ItemMapper::toItemDtoResponse)
+                .collect(Collectors.toList());
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        List<Long> itemIds = items.stream()
+                                  .map(ItemDtoResponse::getId)
+                                  .collect(Collectors.toList());
+        Map<Long, ItemBookingSummary> summaries = bookingSummaryService.getSummaries(itemIds, LocalDateTime.now());
+        Map<Long, List<CommentDtoResponse>> comments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDtoResponse, Collectors.toList())));
+
+        for (ItemDtoResponse itemDtoResponse : items) {
+            ItemBookingSummary summary = summaries.get(itemDtoResponse.getId());
+            itemDtoResponse.setLastBooking(toBookingDto(summary.getLastBooking()));
+            itemDtoResponse.setNextBooking(toBookingDto(summary.getNextBooking()));
+            itemDtoResponse.setComments(comments.getOrDefault(itemDtoResponse.getId(), new ArrayList<>()));
+        }
+
+        return items;
+    }
+
+    private static List<TimeSlotDto> mergeBusySlots(List<TimeSlotDto> slots, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlotDto> merged = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (TimeSlotDto slot : slots) {
+            if (!slot.getStart().isBefore(to)) {
+                break;
+            }
+            if (!slot.getEnd().isAfter(from)) {
+                continue;
+            }
+            LocalDateTime slotStart = slot.getStart().isBefore(from) ? from : slot.getStart();
+            LocalDateTime slotEnd = slot.getEnd().isAfter(to) ? to : slot.getEnd();
+            if (end != null && !slotStart.isAfter(end)) {
+                end = slotEnd.isAfter(end) ? slotEnd : end;
+            } else {
+                if (start != null) {
+                    merged.add(new TimeSlotDto(start, end));
+                }
+                start = slotStart;
+                end = slotEnd;
+            }
+        }
+        if (start != null) {
+            merged.add(new TimeSlotDto(start, end));
+        }
+
+        return merged;
     }
 
     private void throwNotOwnerRequest(Long userId, Item item) {
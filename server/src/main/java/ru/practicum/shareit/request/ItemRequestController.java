@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
 
@@ -12,11 +15,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemRequestController {
     private final ItemRequestService requestService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ItemRequestDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                 @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                  @RequestBody ItemRequestDto requestDto) {
-        return requestService.create(userId, requestDto);
+        if (idempotencyKey == null) {
+            return requestService.create(userId, requestDto);
+        }
+
+        return idempotencyService.execute(userId, idempotencyKey, "POST /requests", requestDto, ItemRequestDto.class,
+                () -> requestService.create(userId, requestDto));
     }
 
     @GetMapping("/{requestId}")
@@ -35,13 +45,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllRequests(
+    public ResponseEntity<List<ItemRequestDto>> getAllRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @RequestParam(value = "size", defaultValue = "10") Integer size
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
+        List<ItemRequestDto> requests = cursor == null
+                ? requestService.getAllRequests(userId, from, size)
+                : requestService.getAllRequests(userId, PageCursor.decodeWithTimestamp(cursor), size);
 
-        return requestService.getAllRequests(userId, from, size);
+        return PageCursor.toResponse(requests, size,
+                request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
 }
@@ -1,14 +1,25 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    Page<ItemRequest> findAllByRequestorId(Long requestorId, Pageable pageable);
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id = :requestorId")
+    Slice<ItemRequest> findAllByRequestorId(Long requestorId, Pageable pageable);
+
+    Slice<ItemRequest> findAllByRequestorIdNot(Long requestorId, Pageable pageable);
 
-    Page<ItemRequest> findAllByRequestorIdNot(Long requestorId, Pageable pageable);
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requestor.id <> :requestorId " +
+            "AND (r.created > :created OR (r.created = :created AND r.id > :id)) " +
+            "ORDER BY r.created, r.id")
+    Slice<ItemRequest> findAllByRequestorIdNotAfter(Long requestorId, LocalDateTime created, Long id,
+                                                    Pageable pageable);
 
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
 
@@ -12,4 +13,6 @@ public interface ItemRequestService {
     List<ItemRequestDto> getUserRequests(Long userId, int from, int size);
 
     List<ItemRequestDto> getAllRequests(Long userId, int from, int size);
+
+    List<ItemRequestDto> getAllRequests(Long userId, PageCursor after, int size);
 }
@@ -1,7 +1,8 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.model.DataNotFoundException;
@@ -15,9 +16,12 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.utility.MyPageRequest;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,57 +45,75 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestDto getRequest(Long userId, Long requestId) {
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
         ItemRequest request = requestRepository.findById(requestId)
                                                .orElseThrow(() -> new DataNotFoundException("Request Id=" + requestId));
 
-        List<ItemDto> itemDtos = itemRepository.findAllByRequestIdOrderById(requestId)
-                                               .stream()
-                                               .map(ItemMapper::toItemDto)
-                                               .collect(Collectors.toList());
-        ItemRequestDto requestDtoResponse = ItemRequestMapper.toRequestDto(request);
-        requestDtoResponse.setItems(itemDtos);
-
-        return requestDtoResponse;
+        return withItems(List.of(ItemRequestMapper.toRequestDto(request))).get(0);
     }
 
     @Override
     public List<ItemRequestDto> getUserRequests(Long userId, int from, int size) {
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
 
-        Page<ItemRequest> requests = requestRepository
+        Slice<ItemRequest> requests = requestRepository
                 .findAllByRequestorId(userId, new MyPageRequest(from, size, Sort.by("id")));
 
-        return requests.stream()
-                       .map(ItemRequestMapper::toRequestDto)
-                       .peek(itemRequestDtoResponse -> itemRequestDtoResponse.setItems(
-                               itemRepository.findAllByRequestIdOrderById(itemRequestDtoResponse.getId())
-                                             .stream()
-                                             .map(ItemMapper::toItemDto)
-                                             .collect(Collectors.toList())
-                       ))
-                       .collect(Collectors.toList());
+        return withItems(requests.stream()
+                                 .map(ItemRequestMapper::toRequestDto)
+                                 .collect(Collectors.toList()));
     }
 
     @Override
     public List<ItemRequestDto> getAllRequests(Long userId, int from, int size) {
-        userRepository.findById(userId)
-                      .orElseThrow(() -> new DataNotFoundException("User Id=" + userId));
-
-        Page<ItemRequest> requests = requestRepository
-                .findAllByRequestorIdNot(userId, new MyPageRequest(from, size, Sort.by("created")));
-
-        return requests.stream()
-                       .map(ItemRequestMapper::toRequestDto)
-                       .peek(itemRequestDtoResponse -> itemRequestDtoResponse.setItems(
-                               itemRepository.findAllByRequestIdOrderById(itemRequestDtoResponse.getId())
-                                             .stream()
-                                             .map(ItemMapper::toItemDto)
-                                             .collect(Collectors.toList())
-                       ))
-                       .collect(Collectors.toList());
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        Slice<ItemRequest> requests = requestRepository
+                .findAllByRequestorIdNot(userId, new MyPageRequest(from, size, Sort.by("created", "id")));
+
+        return withItems(requests.stream()
+                                 .map(ItemRequestMapper::toRequestDto)
+                                 .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ItemRequestDto> getAllRequests(Long userId, PageCursor after, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new DataNotFoundException("User Id=" + userId);
+        }
+
+        Slice<ItemRequest> requests = requestRepository
+                .findAllByRequestorIdNotAfter(userId, after.getTimestamp(), after.getId(), PageRequest.of(0, size));
+
+        return withItems(requests.stream()
+                                 .map(ItemRequestMapper::toRequestDto)
+                                 .collect(Collectors.toList()));
+    }
+
+    private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+
+        List<Long> requestIds = requests.stream()
+                                        .map(ItemRequestDto::getId)
+                                        .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdInOrderById(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+
+        for (ItemRequestDto requestDto : requests) {
+            requestDto.setItems(items.getOrDefault(requestDto.getId(), new ArrayList<>()));
+        }
+
+        return requests;
     }
 }
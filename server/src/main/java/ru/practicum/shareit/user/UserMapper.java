@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
 import ru.practicum.shareit.user.model.User;
 
 public class UserMapper {
@@ -16,6 +17,13 @@ public class UserMapper {
         );
     }
 
+    public static UserShortDto toUserShortDto(User user) {
+        return new UserShortDto(
+                user.getId(),
+                user.getName()
+        );
+    }
+
     public static User toUser(UserDto userDto) {
         return new User(
                 userDto.getId(),
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class UserShortDto {
+
+    private Long id;
+
+    private String name;
+
+}
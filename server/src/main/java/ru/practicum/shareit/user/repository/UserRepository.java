@@ -1,7 +1,14 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.user.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS, unless = "!#result")
+    boolean existsById(Long userId);
+
 }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.EntityChangedEvent;
+import ru.practicum.shareit.cache.EntityType;
 import ru.practicum.shareit.exception.model.DataNotFoundException;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -21,6 +24,7 @@ import static ru.practicum.shareit.user.UserMapper.toUserDto;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -60,13 +64,17 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userDto.getEmail());
         }
 
-        return toUserDto(userRepository.save(user));
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, id));
+
+        return toUserDto(updatedUser);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, id));
     }
 
 }
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.utility;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.model.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+
+    private final Long id;
+
+    private PageCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDateTime timestamp, Long id) {
+        return new PageCursor(timestamp, id);
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String value = (timestamp != null ? timestamp.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            LocalDateTime timestamp = separator > 0 ? LocalDateTime.parse(value.substring(0, separator)) : null;
+            return new PageCursor(timestamp, Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static PageCursor decodeWithTimestamp(String cursor) {
+        PageCursor pageCursor = decode(cursor);
+        if (pageCursor.getTimestamp() == null) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        return pageCursor;
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> content, int size,
+                                                         Function<T, PageCursor> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!content.isEmpty() && content.size() >= size) {
+            response.header(NEXT_CURSOR_HEADER, cursorOf.apply(content.get(content.size() - 1)).encode());
+        }
+        return response.body(content);
+    }
+
+}
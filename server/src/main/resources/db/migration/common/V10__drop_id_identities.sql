@@ -0,0 +1,9 @@
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
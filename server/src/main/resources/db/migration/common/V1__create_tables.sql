@@ -62,3 +62,6 @@ CREATE TABLE IF NOT EXISTS comments
         FOREIGN KEY (author_id) REFERENCES users
 );
 
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start
+    ON bookings (item_id, start_date);
@@ -0,0 +1,17 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start
+    ON bookings (booker_id, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_end
+    ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner
+    ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request
+    ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item
+    ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created
+    ON requests (requestor_id, created);
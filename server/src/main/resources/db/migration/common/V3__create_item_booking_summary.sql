@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id         BIGINT NOT NULL,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    valid_until     TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    CONSTRAINT item_booking_summary_items_id_fk
+        FOREIGN KEY (item_id) REFERENCES items ON DELETE CASCADE,
+    CONSTRAINT item_booking_summary_last_bookings_id_fk
+        FOREIGN KEY (last_booking_id) REFERENCES bookings ON DELETE SET NULL,
+    CONSTRAINT item_booking_summary_next_bookings_id_fk
+        FOREIGN KEY (next_booking_id) REFERENCES bookings ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_item_booking_summary_valid_until
+    ON item_booking_summary (valid_until);
+
+INSERT INTO item_booking_summary (item_id, valid_until)
+SELECT id, CURRENT_TIMESTAMP
+FROM items;
@@ -0,0 +1,16 @@
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings
+SET owner_id = (SELECT items.owner_id FROM items WHERE items.id = bookings.item_id)
+WHERE owner_id IS NULL;
+
+ALTER TABLE bookings
+    ALTER COLUMN owner_id SET NOT NULL;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_owners_id_fk
+        FOREIGN KEY (owner_id) REFERENCES users;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_owner_start
+    ON bookings (owner_id, start_date DESC, id DESC);
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    user_id         BIGINT                      NOT NULL,
+    idempotency_key VARCHAR(64)                 NOT NULL,
+    operation       VARCHAR(64)                 NOT NULL,
+    request_hash    VARCHAR(32)                 NOT NULL,
+    response        VARCHAR(16384),
+    created         TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS ix_idempotency_keys_created
+    ON idempotency_keys (created);
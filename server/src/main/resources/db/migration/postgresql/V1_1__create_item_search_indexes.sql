@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm
+    ON items USING gin (UPPER(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm
+    ON items USING gin (UPPER(description) gin_trgm_ops);
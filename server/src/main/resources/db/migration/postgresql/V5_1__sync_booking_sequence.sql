@@ -0,0 +1,2 @@
+SELECT setval('booking_seq', COALESCE(MAX(id), 0) + 1, false)
+FROM bookings;
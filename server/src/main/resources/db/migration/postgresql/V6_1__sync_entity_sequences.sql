@@ -0,0 +1,11 @@
+SELECT setval('user_seq', COALESCE(MAX(id), 0) + 1, false)
+FROM users;
+
+SELECT setval('request_seq', COALESCE(MAX(id), 0) + 1, false)
+FROM requests;
+
+SELECT setval('item_seq', COALESCE(MAX(id), 0) + 1, false)
+FROM items;
+
+SELECT setval('comment_seq', COALESCE(MAX(id), 0) + 1, false)
+FROM comments;
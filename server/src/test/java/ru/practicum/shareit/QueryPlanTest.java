@@ -0,0 +1,225 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.QueryPlanTest$SqlRecorder")
+class QueryPlanTest {
+    private static final int USERS = 100;
+    private static final int REQUESTS = 500;
+    private static final int ITEMS = 1_000;
+    private static final int BOOKINGS = 10_000;
+    private static final int COMMENTS = 2_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemBookingSummaryRepository summaryRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ItemRequestRepository requestRepository;
+
+    LocalDateTime now = LocalDateTime.now();
+
+    Pageable page = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void seed() {
+        insert("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", USERS,
+                i -> new Object[]{i, "user" + i, "user" + i + "@mail.com"});
+        insert("INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", REQUESTS,
+                i -> new Object[]{i, "request" + i, i % USERS + 1, timestamp(-i)});
+        insert("INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", ITEMS,
+                i -> new Object[]{i, "item" + i, "description" + i, true, i % USERS + 1,
+                        i % 2 == 0 ? i % REQUESTS + 1 : null});
+        insert("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status, owner_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)", BOOKINGS,
+                i -> new Object[]{i, timestamp(i - BOOKINGS / 2), timestamp(i - BOOKINGS / 2 + 1),
+                        i % ITEMS + 1, i % USERS + 1, Status.values()[i % Status.values().length].name(),
+                        (i % ITEMS + 1) % USERS + 1});
+        insert("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)", COMMENTS,
+                i -> new Object[]{i, "comment" + i, i % ITEMS + 1, i % USERS + 1, timestamp(-i)});
+        insert("INSERT INTO item_booking_summary (item_id, last_booking_id, next_booking_id, valid_until) "
+                        + "VALUES (?, ?, ?, ?)", ITEMS,
+                i -> new Object[]{i, null, null, timestamp(i % 48 - 24)});
+        entityManager.clear();
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllByBookerIdOrderByStartDesc",
+                () -> bookingRepository.findAllByBookerIdOrderByStartDesc(1L, page));
+        queries.put("findBookingCurrent", () -> bookingRepository.findBookingCurrent(1L, now, page));
+        queries.put("findBookingPast", () -> bookingRepository.findBookingPast(1L, now, page));
+        queries.put("findBookingFuture", () -> bookingRepository.findBookingFuture(1L, now, page));
+        queries.put("findBookingStatus", () -> bookingRepository.findBookingStatus(1L, Status.WAITING, page));
+        queries.put("findAllByItemOwnerIdOrderByStartDesc",
+                () -> bookingRepository.findAllByItemOwnerIdOrderByStartDesc(1L, page));
+        queries.put("streamAllByOwnerId", () -> {
+            try (Stream<BookingView> bookings = bookingRepository.streamAllByOwnerId(1L)) {
+                bookings.forEach(booking -> {
+                });
+            }
+        });
+        queries.put("findOwnerCurrent", () -> bookingRepository.findOwnerCurrent(1L, now, page));
+        queries.put("findOwnerPast", () -> bookingRepository.findOwnerPast(1L, now, page));
+        queries.put("findOwnerFuture", () -> bookingRepository.findOwnerFuture(1L, now, page));
+        queries.put("findOwnerStatus", () -> bookingRepository.findOwnerStatus(1L, Status.WAITING, page));
+        queries.put("findBookingAllAfter", () -> bookingRepository.findBookingAllAfter(1L, now, 1L, page));
+        queries.put("findBookingCurrentAfter",
+                () -> bookingRepository.findBookingCurrentAfter(1L, now, now, 1L, page));
+        queries.put("findBookingPastAfter", () -> bookingRepository.findBookingPastAfter(1L, now, now, 1L, page));
+        queries.put("findBookingFutureAfter",
+                () -> bookingRepository.findBookingFutureAfter(1L, now, now, 1L, page));
+        queries.put("findBookingStatusAfter",
+                () -> bookingRepository.findBookingStatusAfter(1L, Status.WAITING, now, 1L, page));
+        queries.put("findOwnerAllAfter", () -> bookingRepository.findOwnerAllAfter(1L, now, 1L, page));
+        queries.put("findOwnerCurrentAfter", () -> bookingRepository.findOwnerCurrentAfter(1L, now, now, 1L, page));
+        queries.put("findOwnerPastAfter", () -> bookingRepository.findOwnerPastAfter(1L, now, now, 1L, page));
+        queries.put("findOwnerFutureAfter", () -> bookingRepository.findOwnerFutureAfter(1L, now, now, 1L, page));
+        queries.put("findOwnerStatusAfter",
+                () -> bookingRepository.findOwnerStatusAfter(1L, Status.WAITING, now, 1L, page));
+        queries.put("existsOverlapping", () -> bookingRepository.existsOverlapping(1L, now, now.plusDays(1),
+                EnumSet.of(Status.WAITING, Status.APPROVED)));
+        queries.put("findAllLast", () -> bookingRepository.findAllLast(List.of(1L, 2L, 3L), now));
+        queries.put("findAllNext", () -> bookingRepository.findAllNext(List.of(1L, 2L, 3L), now));
+        queries.put("countBookingStates", () -> bookingRepository.countBookingStates(1L, now));
+        queries.put("countOwnerStates", () -> bookingRepository.countOwnerStates(1L, now));
+        queries.put("findAllOverlapping", () -> bookingRepository.findAllOverlapping(List.of(1L, 2L, 3L),
+                now, now.plusDays(1), EnumSet.of(Status.WAITING, Status.APPROVED)));
+        queries.put("findAllByIdIn", () -> bookingRepository.findAllByIdIn(List.of(1L, 2L, 3L)));
+        queries.put("countExpirable", () -> bookingRepository.countExpirable(now));
+        queries.put("findItemIdsByIdIn", () -> bookingRepository.findItemIdsByIdIn(List.of(1L, 2L, 3L)));
+        queries.put("findBusySlots", () -> bookingRepository.findBusySlots(1L, now, now.plusDays(7)));
+        queries.put("findUpcomingBusySlots", () -> bookingRepository.findUpcomingBusySlots(1L, now));
+        queries.put("existsCompletedBooking",
+                () -> bookingRepository.existsCompletedBooking(1L, 1L, now));
+        queries.put("findSummaryValidUntil", () -> bookingRepository.findSummaryValidUntil(1L, now));
+        queries.put("findAllByItemIdInSummary",
+                () -> summaryRepository.findAllByItemIdIn(List.of(1L, 2L, 3L)));
+        queries.put("findExpiredItemIds", () -> summaryRepository.findExpiredItemIds(now, page));
+        queries.put("findAllByItemId", () -> commentRepository.findAllByItemId(1L));
+        queries.put("findAllByItemIdIn", () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L, 3L)));
+        queries.put("findAllByOwnerIdOrderById", () -> itemRepository.findAllByOwnerIdOrderById(1L, page));
+        queries.put("findAllByOwnerIdAndIdGreaterThanOrderById",
+                () -> itemRepository.findAllByOwnerIdAndIdGreaterThanOrderById(1L, 1L, page));
+        queries.put("findAllByRequestIdInOrderById",
+                () -> itemRepository.findAllByRequestIdInOrderById(List.of(1L, 2L, 3L)));
+        queries.put("findDetail", () -> itemRepository.findDetail(1L, 2L, now));
+        queries.put("findByIdForUpdate", () -> itemRepository.findByIdForUpdate(1L));
+        queries.put("findAllByIdInForUpdate", () -> itemRepository.findAllByIdInForUpdate(List.of(1L, 2L, 3L)));
+        queries.put("findAllByRequestorId", () -> requestRepository.findAllByRequestorId(1L, page));
+
+        List<String> scans = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            SqlRecorder.STATEMENTS.clear();
+            query.run();
+            entityManager.clear();
+            List<String> selects = SqlRecorder.STATEMENTS.stream()
+                    .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                    .collect(Collectors.toList());
+            assertFalse(selects.isEmpty(), name + " issued no query");
+            for (String sql : selects) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                if (plan != null && plan.contains(".tableScan")) {
+                    scans.add(name + ":\n" + plan);
+                }
+            }
+        });
+
+        assertTrue(scans.isEmpty(), "Sequential scans found:\n" + String.join("\n\n", scans));
+    }
+
+    @Test
+    void migrationsCreateQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "ix_bookings_item_start",
+                "ix_bookings_booker_start",
+                "ix_bookings_item_end",
+                "ix_items_owner",
+                "ix_items_request",
+                "ix_comments_item",
+                "ix_requests_requestor_created",
+                "ix_item_booking_summary_valid_until",
+                "ix_bookings_booker_item_end",
+                "ix_bookings_owner_start",
+                "ix_bookings_status_start"
+        )), indexes.toString());
+    }
+
+    @Test
+    void migrationsLeaveIdsToSequences() {
+        List<String> identities = jdbcTemplate.queryForList(
+                "SELECT LOWER(table_name) FROM information_schema.columns WHERE is_identity = 'YES'", String.class);
+
+        assertTrue(identities.isEmpty(), identities.toString());
+    }
+
+    private void insert(String sql, int rows, IntFunction<Object[]> row) {
+        jdbcTemplate.batchUpdate(sql, IntStream.rangeClosed(1, rows)
+                .mapToObj(row)
+                .collect(Collectors.toList()));
+    }
+
+    private Timestamp timestamp(int hours) {
+        return Timestamp.valueOf(now.plusHours(hours));
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingSummaryService;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class StatementCountTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRequestRepository requestRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    BookingSummaryService bookingSummaryService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRequestService requestService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    Booking booking;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        User otherBooker = userRepository.save(new User(null, "other", "other@mail.com"));
+        User requestor = userRepository.save(new User(null, "requestor", "requestor@mail.com"));
+
+        for (int i = 0; i < 3; i++) {
+            ItemRequest request = requestRepository.save(
+                    new ItemRequest(null, "request " + i, requestor, now.minusDays(3)));
+            Item saved = itemRepository.save(new Item(null, "item " + i, "description " + i, true, owner, request));
+            if (item == null) {
+                item = saved;
+            }
+            Booking past = bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1),
+                    saved, booker, Status.APPROVED));
+            if (booking == null) {
+                booking = past;
+            }
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2),
+                    saved, otherBooker, Status.WAITING));
+            commentRepository.save(new Comment(null, "comment", saved, booker, now));
+            commentRepository.save(new Comment(null, "comment", saved, otherBooker, now));
+            bookingSummaryService.refresh(saved.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void getBooking() {
+        bookingService.get(booker.getId(), booking.getId());
+
+        assertEquals(1, statements());
+    }
+
+    @Test
+    void getByBooker() {
+        bookingService.getByBooker(booker.getId(), BookingState.ALL, 0, 10);
+
+        assertEquals(2, statements());
+    }
+
+    @Test
+    void getByOwner() {
+        bookingService.getByOwner(owner.getId(), BookingState.ALL, 0, 10);
+
+        assertEquals(2, statements());
+    }
+
+    @Test
+    void countByOwner() {
+        bookingService.countByOwner(owner.getId());
+
+        assertEquals(2, statements());
+    }
+
+    @Test
+    void getItem() {
+        itemService.get(owner.getId(), item.getId());
+
+        assertEquals(1, statements());
+    }
+
+    @Test
+    void getAvailabilityIsCached() {
+        LocalDateTime from = LocalDateTime.now().plusHours(1);
+        itemService.getAvailability(owner.getId(), item.getId(), from, from.plusDays(7));
+        statistics().clear();
+        double hits = cacheHits(CacheConfig.ITEM_AVAILABILITY);
+
+        itemService.getAvailability(owner.getId(), item.getId(), from.plusDays(1), from.plusDays(2));
+
+        assertEquals(1, statements());
+        assertEquals(hits + 1, cacheHits(CacheConfig.ITEM_AVAILABILITY));
+    }
+
+    @Test
+    void getUserItems() {
+        itemService.getUserItems(owner.getId(), 0, 10);
+
+        assertEquals(3, statements());
+    }
+
+    @Test
+    void getAllRequests() {
+        requestService.getAllRequests(owner.getId(), 0, 10);
+
+        assertEquals(3, statements());
+    }
+
+    @Test
+    void createAllBatchesInserts() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        List<BookingDto> bookings = IntStream.range(0, 20)
+                .mapToObj(i -> new BookingDto(null, start.plusDays(i), start.plusDays(i).plusHours(1),
+                        item.getId(), null, null))
+                .collect(Collectors.toList());
+
+        bookingService.createAll(booker.getId(), bookings);
+        entityManager.flush();
+
+        assertEquals(20, statistics().getEntityInsertCount());
+        assertEquals(8, statements());
+    }
+
+    @Test
+    void confirmAllGroupsUpdatesByDecision() {
+        List<BookingDecisionDto> decisions = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Status.WAITING)
+                .map(booking -> new BookingDecisionDto(booking.getId(), booking.getId() % 2 == 0))
+                .collect(Collectors.toList());
+        entityManager.clear();
+        statistics().clear();
+
+        bookingService.confirmAll(owner.getId(), decisions);
+
+        assertEquals(3, decisions.size());
+        assertEquals(16, statements());
+    }
+
+    @Test
+    void userExistenceCheckIsCached() {
+        bookingService.getByBooker(booker.getId(), BookingState.ALL, 0, 10);
+        statistics().clear();
+        double hits = userExistsHits();
+
+        bookingService.getByBooker(booker.getId(), BookingState.ALL, 0, 10);
+
+        assertEquals(1, statements());
+        assertEquals(hits + 1, userExistsHits());
+    }
+
+    @Test
+    void commentEligibilityCheckIsCached() {
+        itemService.commentCreate(booker.getId(), item.getId(), new CommentDto(null, "first", null, null));
+        double hits = cacheHits(CacheConfig.COMMENT_ELIGIBILITY);
+
+        itemService.commentCreate(booker.getId(), item.getId(), new CommentDto(null, "second", null, null));
+
+        assertEquals(hits + 1, cacheHits(CacheConfig.COMMENT_ELIGIBILITY));
+    }
+
+    private double userExistsHits() {
+        return cacheHits(CacheConfig.USER_EXISTS);
+    }
+
+    private double cacheHits(String cacheName) {
+        return meterRegistry.get("cache.gets")
+                            .tag("cache", cacheName)
+                            .tag("result", "hit")
+                            .functionCounter()
+                            .count();
+    }
+
+    private long statements() {
+        return statistics().getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
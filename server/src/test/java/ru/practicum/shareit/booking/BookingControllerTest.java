@@ -6,22 +6,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.booking.service.BookingStreamService;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -31,10 +45,20 @@ class BookingControllerTest {
     private static final String PATH_WITH_ID = "/bookings/1";
     private static final String PATH_WITH_OWNER = "/bookings/owner";
     private static final String PATH_WITH_APPROVED = "/bookings/1?approved=true";
+    private static final String PATH_BATCH = "/bookings/batch";
 
     @MockBean
     BookingService bookingService;
 
+    @MockBean
+    BookingStreamService bookingStreamService;
+
+    @MockBean
+    BookingExportService bookingExportService;
+
+    @MockBean
+    IdempotencyService idempotencyService;
+
     @Autowired
     MockMvc mvc;
 
@@ -54,8 +78,8 @@ class BookingControllerTest {
             1L,
             LocalDateTime.of(2024, 1, 1, 1, 1, 0),
             LocalDateTime.of(2025, 1, 1, 1, 1, 0),
-            Item.builder().id(1L).build(),
-            User.builder().id(1L).build(),
+            new ItemShortDto(1L, "item"),
+            new UserShortDto(1L, "booker"),
             Status.WAITING
     );
 
@@ -126,6 +150,83 @@ class BookingControllerTest {
                 .getByBooker(anyLong(), any(), anyInt(), anyInt());
     }
 
+    @Test
+    void testCountByOwner() throws Exception {
+        when(bookingService.countByOwner(1L))
+                .thenReturn(Map.of(BookingState.ALL, 4L, BookingState.WAITING, 1L));
+
+        mvc.perform(MockMvcRequestBuilders.get(PATH_WITH_OWNER + "/counts")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL", is(4)))
+                .andExpect(jsonPath("$.WAITING", is(1)));
+
+        verify(bookingService, times(1))
+                .countByOwner(1L);
+    }
+
+    @Test
+    void testCreateWithIdempotencyKey() throws Exception {
+        when(idempotencyService.execute(eq(1L), eq("key-1"), eq("POST /bookings"), eq(booking),
+                eq(BookingDtoResponse.class), any()))
+                .thenReturn(bookingResponse);
+
+        mvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .content(mapper.writeValueAsString(booking))
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(IdempotencyService.HEADER, "key-1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(bookingResponse.getId()), Long.class));
+
+        verify(bookingService, never())
+                .create(anyLong(), any());
+    }
+
+    @Test
+    void testStream() throws Exception {
+        when(bookingStreamService.subscribe(1L))
+                .thenReturn(new SseEmitter());
+
+        mvc.perform(MockMvcRequestBuilders.get(PATH + "/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(bookingStreamService, times(1))
+                .subscribe(1L);
+    }
+
+    @Test
+    void testExportByOwner() throws Exception {
+        when(bookingExportService.exportByOwner(1L, ExportFormat.CSV))
+                .thenReturn(out -> out.write("id\r\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mvc.perform(MockMvcRequestBuilders.get(PATH_WITH_OWNER + "/export?format=csv")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string("id\r\n"));
+    }
+
+    @Test
+    void testExportByOwnerWhenFormatUnknown() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(PATH_WITH_OWNER + "/export?format=xml")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingExportService, never())
+                .exportByOwner(anyLong(), any());
+    }
+
     @Test
     void testGetBookingsByOwner() throws Exception {
         when(bookingService.getByOwner(anyLong(), any(), anyInt(), anyInt()))
@@ -148,6 +249,40 @@ class BookingControllerTest {
                 .getByOwner(anyLong(), any(), anyInt(), anyInt());
     }
 
+    @Test
+    void testGetBookingsByBookerWithCursor() throws Exception {
+        PageCursor cursor = PageCursor.of(bookingResponse.getStart(), bookingResponse.getId());
+        when(bookingService.getByBooker(1L, BookingState.ALL, cursor, 1))
+                .thenReturn(List.of(bookingResponse));
+
+        mvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "1")
+                        .param("cursor", cursor.encode())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, cursor.encode()))
+                .andExpect(jsonPath("$[0].id", is(bookingResponse.getId()), Long.class));
+
+        verify(bookingService, never())
+                .getByBooker(anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetBookingsByOwnerWithInvalidCursor() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(PATH_WITH_OWNER)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("cursor", "not-a-cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
     @Test
     void testConfirmBooking() throws Exception {
         bookingResponse.setStatus(Status.APPROVED);
@@ -167,4 +302,48 @@ class BookingControllerTest {
                 .confirm(anyLong(), anyLong(), anyBoolean());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateAll() throws Exception {
+        when(bookingService.createAll(1L, List.of(booking, booking)))
+                .thenReturn(List.of(new BookingBatchResult(0, 200, bookingResponse, null),
+                        new BookingBatchResult(1, 400, null, "Item id=1 already booked")));
+
+        mvc.perform(MockMvcRequestBuilders.post(PATH_BATCH)
+                        .content(mapper.writeValueAsString(List.of(booking, booking)))
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingResponse.getId()), Long.class))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(400)))
+                .andExpect(jsonPath("$[1].error", is("Item id=1 already booked")));
+
+        verify(bookingService, times(1))
+                .createAll(1L, List.of(booking, booking));
+    }
+
+    @Test
+    void testConfirmAll() throws Exception {
+        bookingResponse.setStatus(Status.APPROVED);
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true));
+
+        when(bookingService.confirmAll(1L, decisions))
+                .thenReturn(List.of(new BookingBatchResult(0, 200, bookingResponse, null)));
+
+        mvc.perform(MockMvcRequestBuilders.patch(PATH_BATCH)
+                        .content(mapper.writeValueAsString(decisions))
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.status", is(bookingResponse.getStatus().toString())));
+
+        verify(bookingService, times(1))
+                .confirmAll(1L, decisions);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+@JsonTest
+class BookingDtoResponseJsonTest {
+    private static final int MAX_PAYLOAD_BYTES = 200;
+
+    @Autowired
+    private JacksonTester<BookingDtoResponse> json;
+
+    @Test
+    void testBookingDtoResponse() throws Exception {
+        BookingDtoResponse bookingDtoResponse = new BookingDtoResponse(
+                1L,
+                LocalDateTime.of(2024, 1, 1, 1, 1, 0),
+                LocalDateTime.of(2025, 1, 1, 1, 1, 0),
+                new ItemShortDto(2L, "item name"),
+                new UserShortDto(3L, "booker name"),
+                Status.WAITING
+        );
+
+        JsonContent<BookingDtoResponse> result = json.write(bookingDtoResponse);
+
+        assertThat(result).extractingJsonPathNumberValue("$.item.id")
+                .isEqualTo(2);
+        assertThat(result).extractingJsonPathStringValue("$.item.name")
+                .isEqualTo("item name");
+        assertThat(result).extractingJsonPathNumberValue("$.booker.id")
+                .isEqualTo(3);
+        assertThat(result).extractingJsonPathStringValue("$.booker.name")
+                .isEqualTo("booker name");
+        assertThat(result).extractingJsonPathMapValue("$.item")
+                .containsOnlyKeys("id", "name");
+        assertThat(result).extractingJsonPathMapValue("$.booker")
+                .containsOnlyKeys("id", "name");
+        assertThat(result.getJson().getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(MAX_PAYLOAD_BYTES);
+    }
+
+}
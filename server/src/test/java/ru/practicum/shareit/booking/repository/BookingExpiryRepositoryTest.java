@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2 не понимает FOR UPDATE ... SKIP LOCKED диалекта PostgreSQL, поэтому только здесь используется H2Dialect
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class BookingExpiryRepositoryTest {
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void findExpirableIdsForUpdate() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        Item item = itemRepository.save(new Item(null, "item", "item description", true, owner, null));
+        Booking later = bookingRepository.save(new Booking(null, now.minusHours(1), now.plusHours(1),
+                item, booker, Status.WAITING));
+        Booking earlier = bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2),
+                item, booker, Status.WAITING));
+        bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2),
+                item, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusHours(1), now.plusHours(2),
+                item, booker, Status.WAITING));
+
+        assertEquals(List.of(earlier.getId(), later.getId()),
+                bookingRepository.findExpirableIdsForUpdate(now, PageRequest.of(0, 10)));
+        assertEquals(List.of(earlier.getId()),
+                bookingRepository.findExpirableIdsForUpdate(now, PageRequest.of(0, 1)));
+    }
+}
@@ -4,17 +4,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +38,9 @@ class BookingRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
 
+    @Autowired
+    TestEntityManager entityManager;
+
     User booker;
 
     User owner;
@@ -62,133 +73,472 @@ class BookingRepositoryTest {
                 null
         ));
 
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         booking = bookingRepository.save(new Booking(
                 1L,
-                LocalDateTime.now().plusHours(1),
-                LocalDateTime.now().plusHours(2),
+                now.plusHours(1),
+                now.plusHours(2),
                 item,
                 booker,
                 Status.WAITING
         ));
     }
 
+    @Test
+    void offsetPagesBreakStartTiesById() {
+        Booking sameStart = bookingRepository.save(new Booking(null, booking.getStart(), booking.getEnd(),
+                item, booker, Status.REJECTED));
+
+        assertEquals(List.of(sameStart.getId(), booking.getId()),
+                bookingRepository.findAllByBookerIdOrderByStartDesc(booker.getId(), PageRequest.of(0, 10))
+                                 .map(BookingView::getId)
+                                 .toList());
+        assertEquals(List.of(sameStart.getId(), booking.getId()),
+                bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId(), PageRequest.of(0, 10))
+                                 .map(BookingView::getId)
+                                 .toList());
+    }
+
     @Test
     void findAllByBookerIdOrderByStartDesc() {
-        Page<Booking> bookingPage = bookingRepository.findAllByBookerIdOrderByStartDesc(
+        Slice<BookingView> bookingPage = bookingRepository.findAllByBookerIdOrderByStartDesc(
                 booker.getId(), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        BookingView view = bookingPage.toList().get(0);
+        assertEquals(booking.getId(), view.getId());
+        assertEquals(booking.getStart(), view.getStartDate());
+        assertEquals(booking.getEnd(), view.getEndDate());
+        assertEquals(booking.getStatus(), view.getStatus());
+        assertEquals(item.getId(), view.getItemId());
+        assertEquals(item.getName(), view.getItemName());
+        assertEquals(booker.getId(), view.getBookerId());
+        assertEquals(booker.getName(), view.getBookerName());
     }
 
     @Test
     void findBookingCurrent() {
-        Page<Booking> bookingPage = bookingRepository.findBookingCurrent(
+        Slice<BookingView> bookingPage = bookingRepository.findBookingCurrent(
                 booker.getId(), LocalDateTime.now().plusHours(1), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findBookingPast() {
-        Page<Booking> bookingPage = bookingRepository.findBookingPast(
+        Slice<BookingView> bookingPage = bookingRepository.findBookingPast(
                 booker.getId(), LocalDateTime.now().plusHours(3), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findBookingFuture() {
-        Page<Booking> bookingPage = bookingRepository.findBookingFuture(
+        Slice<BookingView> bookingPage = bookingRepository.findBookingFuture(
                 booker.getId(), LocalDateTime.now(), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findBookingStatus() {
-        Page<Booking> bookingPage = bookingRepository.findBookingStatus(
+        Slice<BookingView> bookingPage = bookingRepository.findBookingStatus(
                 booker.getId(), Status.WAITING, Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findAllByItemOwnerIdOrderByStartDesc() {
-        Page<Booking> bookingPage = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(
+        Slice<BookingView> bookingPage = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(
                 owner.getId(), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findOwnerCurrent() {
-        Page<Booking> bookingPage = bookingRepository.findOwnerCurrent(
+        Slice<BookingView> bookingPage = bookingRepository.findOwnerCurrent(
                 owner.getId(), LocalDateTime.now().plusHours(1), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findOwnerPast() {
-        Page<Booking> bookingPage = bookingRepository.findOwnerPast(
+        Slice<BookingView> bookingPage = bookingRepository.findOwnerPast(
                 owner.getId(), LocalDateTime.now().plusHours(3), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
     void findOwnerFuture() {
-        Page<Booking> bookingPage = bookingRepository.findOwnerFuture(
+        Slice<BookingView> bookingPage = bookingRepository.findOwnerFuture(
                 owner.getId(), LocalDateTime.now(), Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
+    }
+
+    @Test
+    void findBookingAllAfter() {
+        Booking earlier = bookingRepository.save(new Booking(
+                null,
+                LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1),
+                item,
+                booker,
+                Status.APPROVED
+        ));
+
+        List<Long> bookingIds = bookingRepository.findBookingAllAfter(
+                booker.getId(), booking.getStart(), booking.getId(), PageRequest.of(0, 10)
+        ).map(BookingView::getId).toList();
+
+        assertEquals(List.of(earlier.getId()), bookingIds);
+    }
+
+    @Test
+    void findBookingAllAfterBreaksTiesById() {
+        Booking sameStart = bookingRepository.save(new Booking(
+                null,
+                booking.getStart(),
+                booking.getEnd(),
+                item,
+                booker,
+                Status.APPROVED
+        ));
+
+        List<Long> bookingIds = bookingRepository.findBookingAllAfter(
+                booker.getId(), sameStart.getStart(), sameStart.getId(), PageRequest.of(0, 10)
+        ).map(BookingView::getId).toList();
+
+        assertEquals(List.of(booking.getId()), bookingIds);
+    }
+
+    @Test
+    void findOwnerAllAfter() {
+        Booking earlier = bookingRepository.save(new Booking(
+                null,
+                LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1),
+                item,
+                booker,
+                Status.APPROVED
+        ));
+
+        Slice<BookingView> bookingPage = bookingRepository.findOwnerAllAfter(
+                owner.getId(), booking.getStart(), booking.getId(), PageRequest.of(0, 1)
+        );
+
+        assertEquals(List.of(earlier.getId()), bookingPage.map(BookingView::getId).toList());
+        assertFalse(bookingPage.hasNext());
     }
 
     @Test
     void findOwnerStatus() {
-        Page<Booking> bookingPage = bookingRepository.findOwnerStatus(
+        Slice<BookingView> bookingPage = bookingRepository.findOwnerStatus(
                 owner.getId(), Status.WAITING, Pageable.unpaged()
         );
 
         assertFalse(bookingPage.toList().isEmpty());
-        assertEquals(booking, bookingPage.toList().get(0));
+        assertEquals(booking.getId(), bookingPage.toList().get(0).getId());
     }
 
     @Test
-    void findLast() {
-        Booking lastBooking = bookingRepository.findLast(
-                item.getId(), LocalDateTime.now().plusHours(3), PageRequest.of(0, 1)
+    void findAllLast() {
+        Booking earlierBooking = bookingRepository.save(new Booking(
+                2L,
+                LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1),
+                item,
+                booker,
+                Status.APPROVED
+        ));
+
+        List<Booking> lastBookings = bookingRepository.findAllLast(
+                List.of(item.getId()), LocalDateTime.now().plusHours(3)
         );
 
-        assertNotNull(lastBooking);
-        assertEquals(booking, lastBooking);
+        assertEquals(List.of(booking), lastBookings);
+        assertNotEquals(earlierBooking, lastBookings.get(0));
     }
 
     @Test
-    void findNext() {
-        Booking nextBooking = bookingRepository.findNext(
-                item.getId(), LocalDateTime.now(), PageRequest.of(0, 1)
+    void findAllLastEmpty() {
+        List<Booking> lastBookings = bookingRepository.findAllLast(
+                List.of(item.getId()), LocalDateTime.now()
         );
 
-        assertNotNull(nextBooking);
-        assertEquals(booking, nextBooking);
+        assertTrue(lastBookings.isEmpty());
+    }
+
+    @Test
+    void findAllNext() {
+        Booking laterBooking = bookingRepository.save(new Booking(
+                2L,
+                LocalDateTime.now().plusHours(3),
+                LocalDateTime.now().plusHours(4),
+                item,
+                booker,
+                Status.WAITING
+        ));
+
+        List<Booking> nextBookings = bookingRepository.findAllNext(
+                List.of(item.getId()), LocalDateTime.now()
+        );
+
+        assertEquals(List.of(booking), nextBookings);
+        assertNotEquals(laterBooking, nextBookings.get(0));
+    }
+
+    @Test
+    void findSummaryValidUntilWhenFutureBooking() {
+        assertEquals(booking.getStart(),
+                bookingRepository.findSummaryValidUntil(item.getId(), LocalDateTime.now()));
+    }
+
+    @Test
+    void findSummaryValidUntilWhenCurrentBooking() {
+        assertEquals(booking.getEnd(),
+                bookingRepository.findSummaryValidUntil(item.getId(), booking.getStart().plusMinutes(30)));
+    }
+
+    @Test
+    void findSummaryValidUntilWhenAllPast() {
+        assertNull(bookingRepository.findSummaryValidUntil(item.getId(), booking.getEnd().plusMinutes(30)));
+    }
+
+    @Test
+    void existsCompletedBooking() {
+        booking.setStatus(Status.APPROVED);
+        bookingRepository.save(booking);
+
+        assertFalse(bookingRepository.existsCompletedBooking(booker.getId(), item.getId(), LocalDateTime.now()));
+        assertTrue(bookingRepository.existsCompletedBooking(booker.getId(), item.getId(),
+                booking.getEnd().plusMinutes(1)));
+        assertFalse(bookingRepository.existsCompletedBooking(owner.getId(), item.getId(),
+                booking.getEnd().plusMinutes(1)));
+    }
+
+    @Test
+    void existsCompletedBookingWhenNotApproved() {
+        assertFalse(bookingRepository.existsCompletedBooking(booker.getId(), item.getId(),
+                booking.getEnd().plusMinutes(1)));
+    }
+
+    @Test
+    void findAllOverlapping() {
+        List<Booking> bookings = bookingRepository.findAllOverlapping(List.of(item.getId()),
+                booking.getStart().minusHours(1), booking.getStart().plusMinutes(1),
+                List.of(Status.WAITING, Status.APPROVED));
+
+        assertEquals(List.of(booking), bookings);
+        assertTrue(bookingRepository.findAllOverlapping(List.of(item.getId()),
+                booking.getEnd(), booking.getEnd().plusHours(1), List.of(Status.WAITING)).isEmpty());
+    }
+
+    @Test
+    void findAllByIdIn() {
+        List<Booking> bookings = bookingRepository.findAllByIdIn(List.of(booking.getId(), 99L));
+
+        assertEquals(List.of(booking), bookings);
+        assertEquals(owner.getId(), bookings.get(0).getItem().getOwner().getId());
+    }
+
+    @Test
+    void ownerIdFilledOnPersist() {
+        assertEquals(owner.getId(), booking.getOwnerId());
+    }
+
+    @Test
+    void countBookingStates() {
+        bookingRepository.save(new Booking(null, booking.getStart().minusDays(2), booking.getStart().minusDays(1),
+                item, booker, Status.REJECTED));
+
+        BookingStateCounts counts = bookingRepository.countBookingStates(booker.getId(), booking.getStart());
+
+        assertEquals(2, counts.getTotal());
+        assertEquals(0, counts.getCurrent());
+        assertEquals(1, counts.getPast());
+        assertEquals(0, counts.getFuture());
+        assertEquals(1, counts.getWaiting());
+        assertEquals(1, counts.getRejected());
+    }
+
+    @Test
+    void countOwnerStates() {
+        BookingStateCounts counts = bookingRepository.countOwnerStates(owner.getId(),
+                booking.getStart().plusMinutes(1));
+
+        assertEquals(1, counts.getTotal());
+        assertEquals(1, counts.getCurrent());
+        assertEquals(0, counts.getPast());
+    }
+
+    @Test
+    void countOwnerStatesWhenNoBookings() {
+        BookingStateCounts counts = bookingRepository.countOwnerStates(booker.getId(), LocalDateTime.now());
+
+        assertEquals(0, counts.getTotal());
+        assertNull(counts.getWaiting());
+    }
+
+    @Test
+    void existsOverlapping() {
+        boolean overlapping = bookingRepository.existsOverlapping(
+                item.getId(), booking.getStart().plusMinutes(30), booking.getEnd().plusHours(1),
+                List.of(Status.WAITING, Status.APPROVED)
+        );
+
+        assertTrue(overlapping);
+    }
+
+    @Test
+    void existsOverlappingWhenAdjacent() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(
+                2L,
+                start,
+                start.plusHours(1),
+                item,
+                booker,
+                Status.APPROVED
+        ));
+
+        boolean overlapping = bookingRepository.existsOverlapping(
+                item.getId(), start.plusHours(1), start.plusHours(2),
+                List.of(Status.WAITING, Status.APPROVED)
+        );
+
+        assertFalse(overlapping);
+    }
+
+    @Test
+    void existsOverlappingIgnoresOtherStatuses() {
+        boolean overlapping = bookingRepository.existsOverlapping(
+                item.getId(), booking.getStart(), booking.getEnd(),
+                List.of(Status.APPROVED)
+        );
+
+        assertFalse(overlapping);
+    }
+
+    @Test
+    void decideWaitingBooking() {
+        assertEquals(1, bookingRepository.decide(booking.getId(), owner.getId(), Status.APPROVED));
+        entityManager.clear();
+
+        assertEquals(Status.APPROVED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(0, bookingRepository.decide(booking.getId(), owner.getId(), Status.REJECTED));
+    }
+
+    @Test
+    void decideByNotOwner() {
+        assertEquals(0, bookingRepository.decide(booking.getId(), booker.getId(), Status.APPROVED));
+        entityManager.clear();
+
+        assertEquals(Status.WAITING, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void decideAllOnlyWaitingBookings() {
+        Booking rejected = bookingRepository.save(new Booking(null, booking.getStart().plusDays(1),
+                booking.getEnd().plusDays(1), item, booker, Status.REJECTED));
+
+        assertEquals(1, bookingRepository.decideAll(List.of(booking.getId(), rejected.getId()), owner.getId(),
+                Status.APPROVED));
+
+        assertEquals(Status.APPROVED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(Status.REJECTED, bookingRepository.findById(rejected.getId()).orElseThrow().getStatus());
+        assertEquals(0, bookingRepository.decideAll(List.of(booking.getId()), booker.getId(), Status.REJECTED));
+    }
+
+    @Test
+    void countExpirable() {
+        bookingRepository.save(new Booking(null, booking.getStart().minusHours(3),
+                booking.getStart().minusHours(2), item, booker, Status.WAITING));
+        bookingRepository.save(new Booking(null, booking.getStart().minusHours(3),
+                booking.getStart().minusHours(2), item, booker, Status.APPROVED));
+
+        assertEquals(1, bookingRepository.countExpirable(booking.getStart()));
+        assertEquals(2, bookingRepository.countExpirable(booking.getStart().plusSeconds(1)));
+    }
+
+    @Test
+    void expireAllByIdIn() {
+        Booking approved = bookingRepository.save(new Booking(null, booking.getStart().minusHours(3),
+                booking.getStart().minusHours(2), item, booker, Status.APPROVED));
+
+        assertEquals(1, bookingRepository.expireAllByIdIn(List.of(booking.getId(), approved.getId())));
+        entityManager.clear();
+
+        assertEquals(Status.EXPIRED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(Status.APPROVED, bookingRepository.findById(approved.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findBusySlots() {
+        Booking earlier = bookingRepository.save(new Booking(null, booking.getStart().minusHours(3),
+                booking.getStart().minusHours(2), item, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, booking.getStart().minusHours(5),
+                booking.getStart().minusHours(4), item, booker, Status.REJECTED));
+        bookingRepository.save(new Booking(null, booking.getStart().minusDays(2),
+                booking.getStart().minusDays(1), item, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, booking.getEnd().plusDays(1),
+                booking.getEnd().plusDays(2), item, booker, Status.WAITING));
+
+        List<TimeSlotDto> slots = bookingRepository.findBusySlots(item.getId(),
+                booking.getStart().minusHours(6), booking.getEnd().plusHours(1));
+
+        assertEquals(List.of(new TimeSlotDto(earlier.getStart(), earlier.getEnd()),
+                new TimeSlotDto(booking.getStart(), booking.getEnd())), slots);
+    }
+
+    @Test
+    void findUpcomingBusySlots() {
+        bookingRepository.save(new Booking(null, booking.getStart().minusHours(3),
+                booking.getStart().minusHours(2), item, booker, Status.APPROVED));
+
+        List<TimeSlotDto> slots = bookingRepository.findUpcomingBusySlots(item.getId(),
+                booking.getStart().minusHours(1));
+
+        assertEquals(List.of(new TimeSlotDto(booking.getStart(), booking.getEnd())), slots);
+    }
+
+    @Test
+    void findItemIdsByIdIn() {
+        assertEquals(List.of(item.getId()), bookingRepository.findItemIdsByIdIn(List.of(booking.getId(), 99L)));
+    }
+
+    @Test
+    void streamAllByOwnerId() {
+        Booking earlier = bookingRepository.save(new Booking(null, booking.getStart().minusDays(1),
+                booking.getEnd().minusDays(1), item, booker, Status.APPROVED));
+
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByOwnerId(owner.getId())) {
+            assertEquals(List.of(booking.getId(), earlier.getId()),
+                    bookings.map(BookingView::getId).collect(Collectors.toList()));
+        }
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByOwnerId(booker.getId())) {
+            assertEquals(0, bookings.count());
+        }
     }
-}
\ No newline at end of file
+}
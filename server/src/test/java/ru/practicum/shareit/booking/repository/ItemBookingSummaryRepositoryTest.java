@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ItemBookingSummaryRepositoryTest {
+
+    @Autowired
+    ItemBookingSummaryRepository summaryRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    Item item;
+
+    Item otherItem;
+
+    Booking booking;
+
+    LocalDateTime now;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@mail.com"));
+        item = itemRepository.save(new Item(null, "item", "item description", true, owner, null));
+        otherItem = itemRepository.save(new Item(null, "other", "other description", true, owner, null));
+
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        booking = bookingRepository.save(new Booking(null, now.plusHours(1), now.plusHours(2),
+                item, booker, Status.WAITING));
+    }
+
+    @Test
+    void findAllByItemIdIn() {
+        summaryRepository.save(new ItemBookingSummary(item.getId(), null, booking, booking.getStart()));
+        summaryRepository.save(new ItemBookingSummary(otherItem.getId(), null, null, null));
+
+        List<ItemBookingSummary> summaries = summaryRepository.findAllByItemIdIn(List.of(item.getId()));
+
+        assertEquals(1, summaries.size());
+        assertNull(summaries.get(0).getLastBooking());
+        assertEquals(booking.getId(), summaries.get(0).getNextBooking().getId());
+    }
+
+    @Test
+    void findExpiredItemIds() {
+        summaryRepository.save(new ItemBookingSummary(item.getId(), null, booking, booking.getStart()));
+        summaryRepository.save(new ItemBookingSummary(otherItem.getId(), null, null, null));
+
+        assertTrue(summaryRepository.findExpiredItemIds(now, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(item.getId()),
+                summaryRepository.findExpiredItemIds(booking.getStart(), PageRequest.of(0, 10)));
+    }
+
+}
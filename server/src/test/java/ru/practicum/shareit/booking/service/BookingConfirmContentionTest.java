@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingConfirmContentionTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    BookingSummaryService bookingSummaryService;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "contention-owner@mail.com"));
+        booker = userRepository.save(new User(null, "booker", "contention-booker@mail.com"));
+        item = itemRepository.save(new Item(null, "item", "description", true, owner, null));
+        bookingSummaryService.register(item.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < THREADS; i++) {
+            bookings.add(bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    item, booker, Status.WAITING)));
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll(bookings);
+        itemRepository.delete(item);
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void sameBookingIsDecidedOnce() throws Exception {
+        Long bookingId = bookings.get(0).getId();
+
+        List<Boolean> outcomes = run(IntStream.range(0, THREADS)
+                .mapToObj(i -> (Callable<Boolean>) () -> confirm(bookingId, i % 2 == 0))
+                .collect(Collectors.toList()));
+
+        assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+        assertNotEquals(Status.WAITING, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void differentBookingsAreDecidedConcurrently() throws Exception {
+        List<Boolean> outcomes = run(bookings.stream()
+                .map(booking -> (Callable<Boolean>) () -> confirm(booking.getId(), true))
+                .collect(Collectors.toList()));
+
+        assertTrue(outcomes.stream().allMatch(Boolean::booleanValue));
+        bookings.forEach(booking -> assertEquals(Status.APPROVED,
+                bookingRepository.findById(booking.getId()).orElseThrow().getStatus()));
+    }
+
+    private boolean confirm(Long bookingId, boolean approved) {
+        try {
+            bookingService.confirm(owner.getId(), bookingId, approved);
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        }
+    }
+
+    private List<Boolean> run(List<Callable<Boolean>> tasks) throws InterruptedException, ExecutionException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Boolean>> futures = tasks.stream()
+                    .map(task -> executor.submit(() -> {
+                        start.await();
+                        return task.call();
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            List<Boolean> outcomes = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.EntityChangedEvent;
+import ru.practicum.shareit.cache.EntityType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpiryServiceImplTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    BookingExpiryServiceImpl bookingExpiryService;
+
+    LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        bookingExpiryService = new BookingExpiryServiceImpl(bookingRepository, eventPublisher, Duration.ofHours(1));
+    }
+
+    @Test
+    void testExpire() {
+        when(bookingRepository.findExpirableIdsForUpdate(any(), eq(PageRequest.of(0, 10))))
+                .thenReturn(List.of(1L, 2L));
+        when(bookingRepository.findItemIdsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(5L));
+
+        assertEquals(2, bookingExpiryService.expire(10));
+
+        verify(bookingRepository).expireAllByIdIn(List.of(1L, 2L));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(EntityType.BOOKING, 1L));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(EntityType.BOOKING, 2L));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(EntityType.ITEM, 5L));
+    }
+
+    @Test
+    void testExpireUsesLeadTime() {
+        when(bookingRepository.findExpirableIdsForUpdate(argThat(deadline -> deadline.isAfter(now.plusMinutes(59))),
+                eq(PageRequest.of(0, 10))))
+                .thenReturn(List.of());
+
+        assertEquals(0, bookingExpiryService.expire(10));
+
+        verify(bookingRepository, never()).expireAllByIdIn(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testCountExpirable() {
+        when(bookingRepository.countExpirable(any()))
+                .thenReturn(3L);
+
+        assertEquals(3L, bookingExpiryService.countExpirable());
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ExportFormat;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.model.DataNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class BookingExportServiceImplTest {
+
+    @Autowired
+    BookingExportService bookingExportService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    User owner;
+
+    Booking first;
+
+    Booking second;
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        owner = userRepository.save(new User(null, "owner", "owner@mail.com"));
+        User booker = userRepository.save(new User(null, "Smith, \"Jr\"", "booker@mail.com"));
+        Item item = itemRepository.save(new Item(null, "drill", "description", true, owner, null));
+        first = bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, Status.APPROVED));
+        second = bookingRepository.save(new Booking(null, start.plusDays(1), start.plusDays(1).plusHours(1),
+                item, booker, Status.WAITING));
+    }
+
+    @Test
+    void exportByOwnerAsNdjson() throws IOException {
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode row = mapper.readTree(lines[0]);
+        assertEquals(second.getId(), row.get("id").asLong());
+        assertEquals("2024-01-02T10:00:00", row.get("start").asText());
+        assertEquals("WAITING", row.get("status").asText());
+        assertEquals("drill", row.get("itemName").asText());
+        assertEquals("Smith, \"Jr\"", row.get("bookerName").asText());
+        assertEquals(first.getId(), mapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    void exportByOwnerAsCsv() throws IOException {
+        String[] lines = export(ExportFormat.CSV).split("\r\n");
+
+        assertEquals(List.of(
+                "id,start,end,status,itemId,itemName,bookerId,bookerName",
+                second.getId() + ",2024-01-02T10:00:00,2024-01-02T11:00:00,WAITING," + second.getItem().getId()
+                        + ",drill," + second.getBooker().getId() + ",\"Smith, \"\"Jr\"\"\"",
+                first.getId() + ",2024-01-01T10:00:00,2024-01-01T11:00:00,APPROVED," + first.getItem().getId()
+                        + ",drill," + first.getBooker().getId() + ",\"Smith, \"\"Jr\"\"\""
+        ), List.of(lines));
+    }
+
+    @Test
+    void exportByOwnerWithoutBookings() throws IOException {
+        User other = userRepository.save(new User(null, "other", "other@mail.com"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingExportService.exportByOwner(other.getId(), ExportFormat.NDJSON).writeTo(out);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportByOwnerWhenUserNotFound() {
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+                () -> bookingExportService.exportByOwner(99L, ExportFormat.CSV));
+
+        assertEquals("User Id=99", exception.getMessage());
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExportService.exportByOwner(owner.getId(), format).writeTo(out);
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
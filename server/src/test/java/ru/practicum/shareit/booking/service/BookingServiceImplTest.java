@@ -5,13 +5,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingStateCounts;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.model.BadRequestException;
@@ -20,14 +27,19 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +54,12 @@ class BookingServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    BookingSummaryService bookingSummaryService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     BookingServiceImpl bookingService;
 
@@ -79,7 +97,18 @@ class BookingServiceImplTest {
 
     BookingDtoResponse bookingDtoResponse = BookingMapper.toBookingDtoResponse(booking);
 
-    Page<Booking> bookingPage = new PageImpl<>(Collections.singletonList(booking));
+    BookingView bookingView = new SpelAwareProxyProjectionFactory().createProjection(BookingView.class, Map.ofEntries(
+            Map.entry("id", booking.getId()),
+            Map.entry("startDate", booking.getStart()),
+            Map.entry("endDate", booking.getEnd()),
+            Map.entry("status", booking.getStatus()),
+            Map.entry("itemId", item.getId()),
+            Map.entry("itemName", item.getName()),
+            Map.entry("bookerId", booker.getId()),
+            Map.entry("bookerName", booker.getName())
+    ));
+
+    Page<BookingView> bookingPage = new PageImpl<>(Collections.singletonList(bookingView));
 
     @Test
     void testCreateBookingOk() {
@@ -91,7 +120,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(booker.getId()))
                 .thenReturn(Optional.ofNullable(booker));
 
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findByIdForUpdate(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
 
         when(bookingRepository.save(booking))
@@ -104,6 +133,7 @@ class BookingServiceImplTest {
 
         assertNotNull(actualBookingDtoResponse);
         assertEquals(bookingDtoResponse, actualBookingDtoResponse);
+        verify(bookingSummaryService, times(1)).refresh(item.getId());
     }
 
     @Test
@@ -123,7 +153,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(booker.getId()))
                 .thenReturn(Optional.ofNullable(booker));
 
-        when(itemRepository.findById(bookingDto.getItemId()))
+        when(itemRepository.findByIdForUpdate(bookingDto.getItemId()))
                 .thenReturn(Optional.empty());
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
@@ -138,7 +168,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(owner.getId()))
                 .thenReturn(Optional.ofNullable(owner));
 
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findByIdForUpdate(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
@@ -156,7 +186,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(booker.getId()))
                 .thenReturn(Optional.ofNullable(booker));
 
-        when(itemRepository.findById(itemFalse.getId()))
+        when(itemRepository.findByIdForUpdate(itemFalse.getId()))
                 .thenReturn(Optional.of(itemFalse));
 
         BadRequestException exception = assertThrows(BadRequestException.class,
@@ -166,6 +196,26 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    void testCreateBookingWhenPeriodIsAlreadyBooked() {
+        when(userRepository.findById(booker.getId()))
+                .thenReturn(Optional.ofNullable(booker));
+
+        when(itemRepository.findByIdForUpdate(item.getId()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(bookingRepository.existsOverlapping(eq(item.getId()), eq(bookingDto.getStart()),
+                eq(bookingDto.getEnd()), any()))
+                .thenReturn(true);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bookingService.create(booker.getId(), bookingDto));
+
+        assertEquals("Item id=1 already booked from " + bookingDto.getStart() + " to " + bookingDto.getEnd(),
+                exception.getMessage());
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void testGetBookingOk() {
         when(bookingRepository.findById(booking.getId()))
@@ -202,8 +252,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByBookerStatusAll() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findAllByBookerIdOrderByStartDesc(anyLong(), any()))
                 .thenReturn(bookingPage);
@@ -217,8 +267,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByBookerStatusCURRENT() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findBookingCurrent(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -232,8 +282,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByBookerStatusPAST() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findBookingPast(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -247,8 +297,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByBookerStatusFUTURE() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findBookingFuture(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -262,8 +312,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByBookerStatusWAITING() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findBookingStatus(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -277,8 +327,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByBookerStatusREJECTED() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findBookingStatus(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -292,8 +342,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByOwnerStatusAll() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(anyLong(), any()))
                 .thenReturn(bookingPage);
@@ -307,8 +357,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByOwnerStatusCURRENT() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findOwnerCurrent(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -322,8 +372,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByOwnerStatusPAST() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findOwnerPast(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -337,8 +387,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByOwnerStatusFUTURE() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findOwnerFuture(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -352,8 +402,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByOwnerStatusWAITING() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findOwnerStatus(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -367,8 +417,8 @@ class BookingServiceImplTest {
 
     @Test
     void testGetByOwnerStatusREJECTED() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(bookingRepository.findOwnerStatus(anyLong(), any(), any()))
                 .thenReturn(bookingPage);
@@ -380,54 +430,88 @@ class BookingServiceImplTest {
         assertEquals(List.of(bookingDtoResponse), actualBookingDtoResponseList);
     }
 
+    @Test
+    void testGetByBookerAfterCursor() {
+        PageCursor cursor = PageCursor.of(booking.getStart().plusDays(1), 5L);
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
+
+        when(bookingRepository.findBookingPastAfter(eq(booker.getId()), any(), eq(cursor.getTimestamp()),
+                eq(5L), eq(PageRequest.of(0, 10))))
+                .thenReturn(bookingPage);
+
+        List<BookingDtoResponse> actualBookingDtoResponseList = bookingService
+                .getByBooker(booker.getId(), BookingState.PAST, cursor, 10);
+
+        assertEquals(List.of(bookingDtoResponse), actualBookingDtoResponseList);
+        verify(bookingRepository, never()).findBookingPast(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetByOwnerAfterCursor() {
+        PageCursor cursor = PageCursor.of(booking.getStart().plusDays(1), 5L);
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+
+        when(bookingRepository.findOwnerStatusAfter(owner.getId(), Status.WAITING, cursor.getTimestamp(), 5L,
+                PageRequest.of(0, 10)))
+                .thenReturn(bookingPage);
+
+        List<BookingDtoResponse> actualBookingDtoResponseList = bookingService
+                .getByOwner(owner.getId(), BookingState.WAITING, cursor, 10);
+
+        assertEquals(List.of(bookingDtoResponse), actualBookingDtoResponseList);
+    }
+
     @Test
     void testConfirmOkThenApproved() {
+        Booking approved = new Booking(booking.getId(), booking.getStart(), booking.getEnd(), item, booker,
+                Status.APPROVED);
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.decide(booking.getId(), owner.getId(), Status.APPROVED))
+                .thenReturn(1);
 
         when(bookingRepository.findById(booking.getId()))
-                .thenReturn(Optional.ofNullable(booking));
-
-        when(bookingRepository.save(booking))
-                .thenReturn(booking);
+                .thenReturn(Optional.of(approved));
 
         BookingDtoResponse actualBookingDtoResponse
                 = bookingService.confirm(owner.getId(), booking.getId(), true);
 
         assertNotNull(actualBookingDtoResponse);
         assertEquals(Status.APPROVED, actualBookingDtoResponse.getStatus());
+        verify(bookingSummaryService, times(1)).refresh(item.getId());
     }
 
     @Test
     void testConfirmOkThenRejected() {
+        Booking rejected = new Booking(booking.getId(), booking.getStart(), booking.getEnd(), item, booker,
+                Status.REJECTED);
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.decide(booking.getId(), owner.getId(), Status.REJECTED))
+                .thenReturn(1);
 
         when(bookingRepository.findById(booking.getId()))
-                .thenReturn(Optional.ofNullable(booking));
-
-        when(bookingRepository.save(booking))
-                .thenReturn(booking);
+                .thenReturn(Optional.of(rejected));
 
         BookingDtoResponse actualBookingDtoResponse
                 = bookingService.confirm(owner.getId(), booking.getId(), false);
 
         assertNotNull(actualBookingDtoResponse);
         assertEquals(Status.REJECTED, actualBookingDtoResponse.getStatus());
+        verify(bookingRepository, never()).save(any());
+        verify(bookingSummaryService, times(1)).refresh(item.getId());
     }
 
     @Test
     void testConfirmWhenUserNotFound() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(false);
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> bookingService.confirm(owner.getId(), booking.getId(), true));
@@ -436,20 +520,20 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void testConfirmWhenItemNotFound() {
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+    void testConfirmWhenBookingNotFound() {
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
-        when(bookingRepository.findById(booking.getId()))
-                .thenReturn(Optional.ofNullable(booking));
+        when(bookingRepository.decide(booking.getId(), owner.getId(), Status.APPROVED))
+                .thenReturn(0);
 
-        when(itemRepository.findById(item.getId()))
+        when(bookingRepository.findById(booking.getId()))
                 .thenReturn(Optional.empty());
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> bookingService.confirm(owner.getId(), booking.getId(), true));
 
-        assertEquals("Item Id=1", exception.getMessage());
+        assertEquals("Booking Id=1", exception.getMessage());
     }
 
     @Test
@@ -457,11 +541,11 @@ class BookingServiceImplTest {
         Booking bookingCanceled = booking;
         bookingCanceled.setStatus(Status.CANCELED);
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.decide(bookingCanceled.getId(), owner.getId(), Status.APPROVED))
+                .thenReturn(0);
 
         when(bookingRepository.findById(bookingCanceled.getId()))
                 .thenReturn(Optional.of(bookingCanceled));
@@ -474,11 +558,11 @@ class BookingServiceImplTest {
 
     @Test
     void testConfirmWhenUserIsNotOwner() {
-        when(userRepository.findById(booker.getId()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
 
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.decide(booking.getId(), booker.getId(), Status.APPROVED))
+                .thenReturn(0);
 
         when(bookingRepository.findById(booking.getId()))
                 .thenReturn(Optional.ofNullable(booking));
@@ -488,4 +572,189 @@ class BookingServiceImplTest {
 
         assertEquals("User id=1 is not owner of item", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateAllReportsPerRowResults() {
+        BookingDto unknownItem = new BookingDto(null, booking.getStart(), booking.getEnd(), 99L, null, null);
+        BookingDto overlapping = new BookingDto(null, booking.getStart().plusMinutes(30),
+                booking.getEnd().plusMinutes(30), item.getId(), null, null);
+
+        when(userRepository.findById(booker.getId()))
+                .thenReturn(Optional.ofNullable(booker));
+
+        when(itemRepository.findAllByIdInForUpdate(Set.of(item.getId(), 99L)))
+                .thenReturn(List.of(item));
+
+        when(bookingRepository.findAllOverlapping(eq(Set.of(item.getId())), any(), any(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        List<BookingBatchResult> results = bookingService.createAll(booker.getId(),
+                List.of(bookingDto, unknownItem, overlapping));
+
+        assertEquals(3, results.size());
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(Status.WAITING, results.get(0).getBooking().getStatus());
+        assertEquals(new BookingBatchResult(1, 404, null, "Item Id=99"), results.get(1));
+        assertEquals(400, results.get(2).getStatus());
+        verify(bookingRepository, times(1)).saveAll(argThat(bookings ->
+                ((Collection<?>) bookings).size() == 1));
+        verify(bookingSummaryService, times(1)).refresh(item.getId());
+    }
+
+    @Test
+    void testCreateAllRejectsInvalidDatesPerRow() {
+        BookingDto endBeforeStart = new BookingDto(null, bookingDto.getEnd(), bookingDto.getStart(),
+                item.getId(), null, null);
+        BookingDto pastStart = new BookingDto(null, LocalDateTime.now().minusDays(1), bookingDto.getEnd(),
+                item.getId(), null, null);
+
+        when(userRepository.findById(booker.getId()))
+                .thenReturn(Optional.ofNullable(booker));
+
+        when(itemRepository.findAllByIdInForUpdate(Set.of(item.getId())))
+                .thenReturn(List.of(item));
+
+        when(bookingRepository.findAllOverlapping(anyCollection(), any(), any(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        List<BookingBatchResult> results = bookingService.createAll(booker.getId(),
+                List.of(endBeforeStart, bookingDto, pastStart));
+
+        assertEquals(new BookingBatchResult(0, 400, null, "Start booking must be before end booking"),
+                results.get(0));
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(new BookingBatchResult(2, 400, null, "Start booking must not be in the past"),
+                results.get(2));
+        verify(bookingRepository, times(1)).saveAll(argThat(bookings ->
+                ((Collection<?>) bookings).size() == 1));
+    }
+
+    @Test
+    void testCreateAllWhenItemOwnedByBooker() {
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.ofNullable(owner));
+
+        when(itemRepository.findAllByIdInForUpdate(Set.of(item.getId())))
+                .thenReturn(List.of(item));
+
+        when(bookingRepository.findAllOverlapping(anyCollection(), any(), any(), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        List<BookingBatchResult> results = bookingService.createAll(owner.getId(), List.of(bookingDto));
+
+        assertEquals(List.of(new BookingBatchResult(0, 404, null,
+                "User id=2 can not booking item id=1")), results);
+        verify(bookingSummaryService, never()).refresh(anyLong());
+    }
+
+    @Test
+    void testCreateAllWhenUserNotFound() {
+        when(userRepository.findById(booker.getId()))
+                .thenReturn(Optional.empty());
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+                () -> bookingService.createAll(booker.getId(), List.of(bookingDto)));
+
+        assertEquals("User Id=1", exception.getMessage());
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testConfirmAllReportsPerRowResults() {
+        Booking approved = new Booking(booking.getId(), booking.getStart(), booking.getEnd(), item, booker,
+                Status.APPROVED);
+
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+
+        when(bookingRepository.findAllByIdIn(Set.of(booking.getId(), 5L)))
+                .thenReturn(List.of(booking));
+
+        when(bookingRepository.decideAll(Set.of(booking.getId()), owner.getId(), Status.APPROVED))
+                .thenReturn(1);
+
+        when(bookingRepository.findAllByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(approved));
+
+        List<BookingBatchResult> results = bookingService.confirmAll(owner.getId(), List.of(
+                new BookingDecisionDto(booking.getId(), true),
+                new BookingDecisionDto(5L, false),
+                new BookingDecisionDto(booking.getId(), false)));
+
+        assertEquals(Status.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals(new BookingBatchResult(1, 404, null, "Booking Id=5"), results.get(1));
+        assertEquals(new BookingBatchResult(2, 400, null, "Booking is checked"), results.get(2));
+        verify(bookingRepository, never()).decideAll(anyCollection(), anyLong(), eq(Status.REJECTED));
+        verify(bookingRepository, never()).decide(anyLong(), anyLong(), any());
+        verify(bookingRepository, never()).saveAll(any());
+        verify(bookingSummaryService, times(1)).refresh(item.getId());
+    }
+
+    @Test
+    void testConfirmAllWhenDecidedConcurrently() {
+        Booking rejected = new Booking(booking.getId(), booking.getStart(), booking.getEnd(), item, booker,
+                Status.REJECTED);
+
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+
+        when(bookingRepository.findAllByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(booking), List.of(rejected));
+
+        when(bookingRepository.decideAll(Set.of(booking.getId()), owner.getId(), Status.APPROVED))
+                .thenReturn(0);
+
+        List<BookingBatchResult> results = bookingService.confirmAll(owner.getId(),
+                List.of(new BookingDecisionDto(booking.getId(), true)));
+
+        assertEquals(List.of(new BookingBatchResult(0, 400, null, "Booking is checked")), results);
+        verify(bookingSummaryService, never()).refresh(anyLong());
+    }
+
+    @Test
+    void testConfirmAllWhenNotOwner() {
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
+
+        when(bookingRepository.findAllByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(booking));
+
+        List<BookingBatchResult> results = bookingService.confirmAll(booker.getId(),
+                List.of(new BookingDecisionDto(booking.getId(), true)));
+
+        assertEquals(List.of(new BookingBatchResult(0, 404, null, "User id=1 is not owner of item")), results);
+        verify(bookingRepository, never()).decideAll(anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void testCountByBooker() {
+        when(userRepository.existsById(booker.getId()))
+                .thenReturn(true);
+
+        when(bookingRepository.countBookingStates(eq(booker.getId()), any()))
+                .thenReturn(new SpelAwareProxyProjectionFactory().createProjection(BookingStateCounts.class,
+                        Map.of("total", 3L, "current", 1L, "future", 2L, "waiting", 2L)));
+
+        Map<BookingState, Long> counts = bookingService.countByBooker(booker.getId());
+
+        assertEquals(Map.of(
+                BookingState.ALL, 3L,
+                BookingState.CURRENT, 1L,
+                BookingState.PAST, 0L,
+                BookingState.FUTURE, 2L,
+                BookingState.WAITING, 2L,
+                BookingState.REJECTED, 0L), counts);
+    }
+
+    @Test
+    void testCountByOwnerWhenUserNotFound() {
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(false);
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+                () -> bookingService.countByOwner(owner.getId()));
+
+        assertEquals("User Id=2", exception.getMessage());
+        verify(bookingRepository, never()).countOwnerStates(anyLong(), any());
+    }
+}
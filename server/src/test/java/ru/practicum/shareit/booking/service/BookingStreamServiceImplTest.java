@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.event.BookingNotification;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.exception.model.DataNotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStreamServiceImplTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    BookingStreamServiceImpl bookingStreamService;
+
+    BookingDtoResponse booking = new BookingDtoResponse(1L, null, null, null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        bookingStreamService = new BookingStreamServiceImpl(userRepository, Duration.ofMinutes(1),
+                Duration.ofMinutes(1), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingStreamService.stop();
+    }
+
+    @Test
+    void testSubscribe() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertNotNull(bookingStreamService.subscribe(1L));
+        assertNotNull(bookingStreamService.subscribe(1L));
+
+        assertEquals(2, bookingStreamService.subscriberCount());
+    }
+
+    @Test
+    void testSubscribeUserNotFound() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(DataNotFoundException.class, () -> bookingStreamService.subscribe(1L));
+        assertEquals(0, bookingStreamService.subscriberCount());
+    }
+
+    @Test
+    void testNotificationWithoutSubscribers() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        bookingStreamService.subscribe(1L);
+
+        assertDoesNotThrow(() -> bookingStreamService.onNotification(new BookingNotification(2L, booking)));
+        assertEquals(1, bookingStreamService.subscriberCount());
+    }
+}
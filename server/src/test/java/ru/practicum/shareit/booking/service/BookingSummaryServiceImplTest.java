@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSummaryServiceImplTest {
+
+    @Mock
+    ItemBookingSummaryRepository summaryRepository;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @InjectMocks
+    BookingSummaryServiceImpl bookingSummaryService;
+
+    @Captor
+    ArgumentCaptor<ItemBookingSummary> summaryCaptor;
+
+    LocalDateTime now = LocalDateTime.now();
+
+    Item item = Item.builder().id(1L).build();
+
+    Item otherItem = Item.builder().id(2L).build();
+
+    User booker = User.builder().id(1L).build();
+
+    Booking last = new Booking(1L, now.minusDays(2), now.minusDays(1), item, booker, Status.APPROVED);
+
+    Booking next = new Booking(2L, now.plusDays(1), now.plusDays(2), item, booker, Status.WAITING);
+
+    @Test
+    void testRegister() {
+        bookingSummaryService.register(item.getId());
+
+        verify(summaryRepository).save(new ItemBookingSummary(item.getId(), null, null, null));
+    }
+
+    @Test
+    void testRefresh() {
+        when(bookingRepository.findAllLast(eq(List.of(item.getId())), any()))
+                .thenReturn(List.of(last));
+
+        when(bookingRepository.findAllNext(eq(List.of(item.getId())), any()))
+                .thenReturn(List.of(next));
+
+        when(bookingRepository.findSummaryValidUntil(eq(item.getId()), any()))
+                .thenReturn(next.getStart());
+
+        bookingSummaryService.refresh(item.getId());
+
+        verify(summaryRepository).save(summaryCaptor.capture());
+        assertEquals(new ItemBookingSummary(item.getId(), last, next, next.getStart()), summaryCaptor.getValue());
+    }
+
+    @Test
+    void testGetSummariesWhenFresh() {
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId(), last, next, next.getStart());
+
+        when(summaryRepository.findAllByItemIdIn(List.of(item.getId())))
+                .thenReturn(List.of(summary));
+
+        Map<Long, ItemBookingSummary> summaries = bookingSummaryService.getSummaries(List.of(item.getId()), now);
+
+        assertEquals(Map.of(item.getId(), summary), summaries);
+        verify(bookingRepository, never()).findAllLast(anyList(), any());
+        verify(bookingRepository, never()).findAllNext(anyList(), any());
+    }
+
+    @Test
+    void testGetSummariesWhenStaleOrMissing() {
+        when(summaryRepository.findAllByItemIdIn(List.of(item.getId(), otherItem.getId())))
+                .thenReturn(List.of(new ItemBookingSummary(item.getId(), null, last, last.getStart())));
+
+        when(bookingRepository.findAllLast(List.of(item.getId(), otherItem.getId()), now))
+                .thenReturn(List.of(last));
+
+        when(bookingRepository.findAllNext(List.of(item.getId(), otherItem.getId()), now))
+                .thenReturn(List.of(next));
+
+        Map<Long, ItemBookingSummary> summaries = bookingSummaryService
+                .getSummaries(List.of(item.getId(), otherItem.getId()), now);
+
+        assertEquals(new ItemBookingSummary(item.getId(), last, next, null), summaries.get(item.getId()));
+        assertEquals(new ItemBookingSummary(otherItem.getId(), null, null, null), summaries.get(otherItem.getId()));
+    }
+
+    @Test
+    void testRollForward() {
+        ConcurrentMapCache eligibility = new ConcurrentMapCache(CacheConfig.COMMENT_ELIGIBILITY);
+
+        when(cacheManager.getCache(CacheConfig.COMMENT_ELIGIBILITY))
+                .thenReturn(eligibility);
+
+        when(summaryRepository.findExpiredItemIds(any(), any()))
+                .thenReturn(List.of(item.getId()));
+
+        when(summaryRepository.save(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        when(bookingRepository.findAllLast(anyList(), any()))
+                .thenReturn(List.of(last, next));
+
+        when(bookingRepository.findAllNext(anyList(), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertEquals(1, bookingSummaryService.rollForward(10));
+        verify(summaryRepository).save(summaryCaptor.capture());
+        assertEquals(last, summaryCaptor.getValue().getLastBooking());
+        assertNull(summaryCaptor.getValue().getValidUntil());
+        assertEquals(true, eligibility.get(CacheConfig.commentEligibilityKey(booker.getId(), item.getId())).get());
+    }
+
+}
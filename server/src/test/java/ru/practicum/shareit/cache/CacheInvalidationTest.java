@@ -0,0 +1,110 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class CacheInvalidationTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @SpyBean
+    InvalidationBus invalidationBus;
+
+    UserDto user;
+
+    @BeforeEach
+    void beforeEach() {
+        user = userService.create(new UserDto(null, "cached", "cached@mail.com"));
+        assertTrue(userRepository.existsById(user.getId()));
+        assertNotNull(userExistsCache().get(user.getId()));
+    }
+
+    @AfterEach
+    void afterEach() {
+        userRepository.findById(user.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void updatePublishesOnCommit() {
+        EntityChangedEvent event = new EntityChangedEvent(EntityType.USER, user.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.update(user.getId(), new UserDto(null, "renamed", null));
+
+            verify(invalidationBus, never()).publish(any());
+            assertNotNull(userExistsCache().get(user.getId()));
+        });
+
+        verify(invalidationBus).publish(event);
+        assertNull(userExistsCache().get(user.getId()));
+    }
+
+    @Test
+    void rolledBackUpdatePublishesNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.update(user.getId(), new UserDto(null, "renamed", null));
+            status.setRollbackOnly();
+        });
+
+        verify(invalidationBus, never()).publish(any());
+        assertNotNull(userExistsCache().get(user.getId()));
+    }
+
+    @Test
+    void eventsWithoutCachesAreNotPublished() {
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(
+                new EntityChangedEvent(EntityType.BOOKING, 42L)));
+
+        verify(invalidationBus, never()).publish(any());
+    }
+
+    @Test
+    void deleteEvictsExistenceCheck() {
+        userService.delete(user.getId());
+
+        assertNull(userExistsCache().get(user.getId()));
+        assertFalse(userRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void eventSurvivesPayloadRoundTrip() {
+        EntityChangedEvent event = new EntityChangedEvent(EntityType.BOOKING, 42L);
+
+        assertEquals(event, EntityChangedEvent.fromPayload(event.toPayload()));
+        assertThrows(IllegalArgumentException.class, () -> EntityChangedEvent.fromPayload("BOOKING"));
+    }
+
+    private Cache userExistsCache() {
+        return cacheManager.getCache(CacheConfig.USER_EXISTS);
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.idempotency.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.exception.model.BadRequestException;
+import ru.practicum.shareit.idempotency.repository.IdempotencyRecordRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdempotencyServiceImplTest {
+    private static final String OPERATION = "POST /users";
+
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    @Autowired
+    IdempotencyRecordRepository recordRepository;
+
+    UserDto request = new UserDto(null, "user", "user@mail.com");
+
+    AtomicInteger invocations = new AtomicInteger();
+
+    Supplier<UserDto> action = () -> new UserDto((long) invocations.incrementAndGet(), "user", "user@mail.com");
+
+    @AfterEach
+    void afterEach() {
+        recordRepository.deleteAll();
+    }
+
+    @Test
+    void replaysStoredResponse() {
+        UserDto first = idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+        UserDto second = idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+
+        assertEquals(1, invocations.get());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void domainConstraintViolationIsNotRetried() {
+        Supplier<UserDto> failing = () -> {
+            invocations.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate email");
+        };
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, failing));
+        assertEquals(1, invocations.get());
+        assertFalse(recordRepository.findAll().iterator().hasNext());
+    }
+
+    @Test
+    void keysAreScopedByUser() {
+        idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+        idempotencyService.execute(2L, "key", OPERATION, request, UserDto.class, action);
+
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentRequest() {
+        idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+        UserDto other = new UserDto(null, "other", "other@mail.com");
+
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute(1L, "key", OPERATION, other, UserDto.class, action));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void rejectsInvalidKey() {
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute(1L, " ", OPERATION, request, UserDto.class, action));
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute(1L, "k".repeat(65), OPERATION, request, UserDto.class, action));
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    void failedActionIsNotStored() {
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, () -> {
+                    throw new BadRequestException("failed");
+                }));
+
+        idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Callable<UserDto> call = () -> {
+                start.await();
+                return idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+            };
+            List<Future<UserDto>> futures = IntStream.range(0, threads)
+                    .mapToObj(i -> executor.submit(call))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            for (Future<UserDto> future : futures) {
+                assertEquals(1L, future.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void purgeExpiredKeepsFreshKeys() {
+        idempotencyService.execute(1L, "key", OPERATION, request, UserDto.class, action);
+
+        assertEquals(0, idempotencyService.purgeExpired());
+        assertEquals(1, recordRepository.count());
+    }
+}
@@ -10,10 +10,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
@@ -38,6 +41,9 @@ class ItemControllerTest {
     @MockBean
     ItemService itemService;
 
+    @MockBean
+    IdempotencyService idempotencyService;
+
     @Autowired
     MockMvc mvc;
 
@@ -73,7 +79,7 @@ class ItemControllerTest {
     CommentDtoResponse commentResponse = new CommentDtoResponse(
             1L,
             "comment text",
-            Item.builder().id(1L).build(),
+            1L,
             "author",
             LocalDateTime.of(2023, 1, 1, 1, 1, 0)
 
@@ -101,6 +107,29 @@ class ItemControllerTest {
                 .create(1L, item);
     }
 
+    @Test
+    void testGetAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 2, 0, 0);
+        TimeSlotDto busy = new TimeSlotDto(from.plusHours(10), from.plusHours(12));
+        when(itemService.getAvailability(1L, 1L, from, to))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to, List.of(busy),
+                        List.of(new TimeSlotDto(from, busy.getStart()), new TimeSlotDto(busy.getEnd(), to))));
+
+        mvc.perform(MockMvcRequestBuilders.get(PATH_WITH_ID + "/availability")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-01-02T00:00:00")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy[0].start", is("2024-01-01T10:00:00")))
+                .andExpect(jsonPath("$.free[1].start", is("2024-01-01T12:00:00")))
+                .andExpect(jsonPath("$.free[1].end", is("2024-01-02T00:00:00")));
+
+        verify(itemService, times(1))
+                .getAvailability(1L, 1L, from, to);
+    }
+
     @Test
     void testCreateCommentOk() throws Exception {
         when(itemService.commentCreate(1L, 1L, comment))
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+@JsonTest
+class ItemDtoResponseJsonTest {
+    private static final int MAX_PAYLOAD_BYTES = 600;
+
+    @Autowired
+    private JacksonTester<ItemDtoResponse> json;
+
+    @Test
+    void testItemDtoResponse() throws Exception {
+        ItemDtoResponse itemDtoResponse = new ItemDtoResponse(
+                1L,
+                "item name",
+                "item description",
+                true,
+                new BookingDto(1L, LocalDateTime.of(2024, 1, 1, 1, 1, 0),
+                        LocalDateTime.of(2024, 1, 2, 1, 1, 0), 1L, 2L, Status.APPROVED),
+                new BookingDto(2L, LocalDateTime.of(2025, 1, 1, 1, 1, 0),
+                        LocalDateTime.of(2025, 1, 2, 1, 1, 0), 1L, 3L, Status.WAITING),
+                List.of(new CommentDtoResponse(1L, "comment text", 1L, "author name",
+                        LocalDateTime.of(2024, 1, 3, 1, 1, 0))),
+                4L
+        );
+
+        JsonContent<ItemDtoResponse> result = json.write(itemDtoResponse);
+
+        assertThat(result).extractingJsonPathNumberValue("$.requestId")
+                .isEqualTo(4);
+        assertThat(result).extractingJsonPathNumberValue("$.comments[0].itemId")
+                .isEqualTo(1);
+        assertThat(result).extractingJsonPathStringValue("$.comments[0].authorName")
+                .isEqualTo("author name");
+        assertThat(result).doesNotHaveJsonPath("$.request");
+        assertThat(result).doesNotHaveJsonPath("$.comments[0].item");
+        assertThat(result.getJson().getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(MAX_PAYLOAD_BYTES);
+    }
+
+}
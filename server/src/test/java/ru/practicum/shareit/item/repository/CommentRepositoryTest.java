@@ -75,4 +75,11 @@ class CommentRepositoryTest {
         assertFalse(commentList.isEmpty());
         assertEquals(comment, commentList.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByItemIdIn() {
+        List<Comment> commentList = commentRepository.findAllByItemIdIn(List.of(item.getId(), 100L));
+
+        assertEquals(List.of(comment), commentList);
+    }
+}
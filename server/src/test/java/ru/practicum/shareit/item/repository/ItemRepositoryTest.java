@@ -4,8 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.dto.ItemDetailView;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -14,6 +22,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +38,15 @@ class ItemRepositoryTest {
     @Autowired
     ItemRequestRepository requestRepository;
 
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ItemBookingSummaryRepository summaryRepository;
+
     User requestor;
 
     User owner;
@@ -72,23 +90,109 @@ class ItemRepositoryTest {
 
     @Test
     void findAllByOwnerIdOrderById() {
-        Page<Item> itemPage = itemRepository.findAllByOwnerIdOrderById(owner.getId(), Pageable.unpaged());
+        Slice<Item> itemPage = itemRepository.findAllByOwnerIdOrderById(owner.getId(), Pageable.unpaged());
 
         assertFalse(itemPage.toList().isEmpty());
         assertEquals(item, itemPage.toList().get(0));
     }
 
     @Test
-    void findAllByRequestIdOrderById() {
-        List<Item> itemList = itemRepository.findAllByRequestIdOrderById(request.getId());
+    void findAllByOwnerIdAndIdGreaterThanOrderById() {
+        Item next = itemRepository.save(new Item(
+                null,
+                "next item",
+                "next item description",
+                true,
+                owner,
+                null
+        ));
+
+        Slice<Item> itemPage = itemRepository.findAllByOwnerIdAndIdGreaterThanOrderById(
+                owner.getId(), item.getId(), PageRequest.of(0, 10)
+        );
 
-        assertFalse(itemList.isEmpty());
-        assertEquals(item, itemList.get(0));
+        assertEquals(List.of(next), itemPage.toList());
+    }
+
+    @Test
+    void findAllByRequestIdInOrderById() {
+        ItemRequest otherRequest = requestRepository.save(new ItemRequest(
+                null,
+                "other request description",
+                requestor,
+                LocalDateTime.now()
+        ));
+        Item otherItem = itemRepository.save(new Item(
+                null,
+                "other item",
+                "other item description",
+                true,
+                owner,
+                otherRequest
+        ));
+
+        List<Item> itemList = itemRepository.findAllByRequestIdInOrderById(
+                List.of(request.getId(), otherRequest.getId()));
+
+        assertEquals(List.of(item, otherItem), itemList);
+    }
+
+    @Test
+    void findDetailForOwner() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2),
+                item, requestor, Status.APPROVED));
+        Booking next = bookingRepository.save(new Booking(null, now.plusHours(2), now.plusHours(3),
+                item, requestor, Status.WAITING));
+        summaryRepository.save(new ItemBookingSummary(item.getId(), last, next, next.getStart()));
+        Comment first = commentRepository.save(new Comment(null, "first", item, requestor, now));
+        Comment second = commentRepository.save(new Comment(null, "second", item, requestor, now));
+
+        List<ItemDetailView> rows = itemRepository.findDetail(item.getId(), owner.getId(), now);
+
+        assertEquals(2, rows.size());
+        assertEquals(item, rows.get(0).getItem());
+        assertEquals(item.getId(), rows.get(0).getSummaryItemId());
+        assertEquals(last.getId(), rows.get(0).getLastBooking().getId());
+        assertEquals(next.getId(), rows.get(0).getNextBooking().getId());
+        assertEquals(List.of(first.getId(), second.getId()),
+                rows.stream().map(ItemDetailView::getCommentId).collect(Collectors.toList()));
+        assertEquals(requestor.getName(), rows.get(0).getAuthorName());
+    }
+
+    @Test
+    void findDetailWhenSummaryStale() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking next = bookingRepository.save(new Booking(null, now.minusMinutes(1), now.plusHours(1),
+                item, requestor, Status.APPROVED));
+        summaryRepository.save(new ItemBookingSummary(item.getId(), null, next, next.getStart()));
+
+        List<ItemDetailView> rows = itemRepository.findDetail(item.getId(), owner.getId(), now);
+
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).getSummaryItemId());
+        assertNull(rows.get(0).getNextBooking());
+    }
+
+    @Test
+    void findDetailForOtherUser() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2),
+                item, requestor, Status.APPROVED));
+
+        List<ItemDetailView> rows = itemRepository.findDetail(item.getId(), requestor.getId(), now);
+
+        assertEquals(1, rows.size());
+        assertEquals(item, rows.get(0).getItem());
+        assertNull(rows.get(0).getSummaryItemId());
+        assertNull(rows.get(0).getLastBooking());
+        assertNull(rows.get(0).getNextBooking());
+        assertNull(rows.get(0).getCommentId());
     }
 
     @Test
     void searchOk() {
-        Page<Item> itemPage = itemRepository.search("item", Pageable.unpaged());
+        Slice<Item> itemPage = itemRepository.search("item", Pageable.unpaged());
 
         assertFalse(itemPage.toList().isEmpty());
         assertEquals(item, itemPage.toList().get(0));
@@ -96,8 +200,58 @@ class ItemRepositoryTest {
 
     @Test
     void searchEmpty() {
-        Page<Item> itemPage = itemRepository.search("empty", Pageable.unpaged());
+        Slice<Item> itemPage = itemRepository.search("empty", Pageable.unpaged());
 
         assertTrue(itemPage.toList().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByIdForUpdate() {
+        assertEquals(item, itemRepository.findByIdForUpdate(item.getId()).orElseThrow());
+    }
+
+    @Test
+    void findAllByIdInForUpdate() {
+        assertEquals(List.of(item), itemRepository.findAllByIdInForUpdate(List.of(item.getId(), 99L)));
+    }
+
+    @Test
+    void searchSkipsUnavailableItems() {
+        itemRepository.save(new Item(
+                2L,
+                "unavailable item",
+                "description",
+                false,
+                owner,
+                null
+        ));
+
+        Slice<Item> itemPage = itemRepository.search("item", Pageable.unpaged());
+
+        assertEquals(List.of(item), itemPage.toList());
+    }
+
+    @Test
+    void searchRanksNameMatchesFirst() {
+        Item descriptionMatch = itemRepository.save(new Item(
+                2L,
+                "drill",
+                "powerful tool",
+                true,
+                owner,
+                null
+        ));
+        Item nameMatch = itemRepository.save(new Item(
+                3L,
+                "Tool box",
+                "box for screwdrivers",
+                true,
+                owner,
+                null
+        ));
+
+        Slice<Item> itemPage = itemRepository.search("tOOl", Pageable.unpaged());
+
+        assertEquals(List.of(nameMatch, descriptionMatch), itemPage.toList());
+    }
+}
@@ -7,20 +7,27 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingSummaryService;
 import ru.practicum.shareit.exception.model.BadRequestException;
 import ru.practicum.shareit.exception.model.DataNotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDetailView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
@@ -33,12 +40,13 @@ import ru.practicum.shareit.utility.MyPageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,6 +66,12 @@ class ItemServiceImplTest {
     @Mock
     ItemRequestRepository requestRepository;
 
+    @Mock
+    BookingSummaryService bookingSummaryService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -114,6 +128,7 @@ class ItemServiceImplTest {
         assertEquals(itemDto, actualItemDto);
         verify(userRepository, times(1)).findById(anyLong());
         verify(itemRepository, times(1)).save(any());
+        verify(bookingSummaryService, times(1)).register(item.getId());
     }
 
     @Test
@@ -164,18 +179,14 @@ class ItemServiceImplTest {
 
     @Test
     void testCommentCreateOk() {
-        Page<Booking> bookingPage = new PageImpl<>(
-                Collections.singletonList(Booking.builder().id(1L).item(item).build())
-        );
-
         when(userRepository.findById(author.getId()))
                 .thenReturn(Optional.ofNullable(author));
 
         when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.findBookingPast(anyLong(), any(), any()))
-                .thenReturn(bookingPage);
+        when(bookingRepository.existsCompletedBooking(eq(author.getId()), eq(item.getId()), any()))
+                .thenReturn(true);
 
         when(commentRepository.save(any()))
                 .thenReturn(comment);
@@ -216,18 +227,14 @@ class ItemServiceImplTest {
 
     @Test
     void testCommentCreateWhenAuthorDidNotUseItem() {
-        Page<Booking> bookingPage = new PageImpl<>(
-                Collections.singletonList(Booking.builder().id(1L).item(Item.builder().id(2L).build()).build())
-        );
-
         when(userRepository.findById(author.getId()))
                 .thenReturn(Optional.ofNullable(author));
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
 
-        when(bookingRepository.findBookingPast(anyLong(), any(), any()))
-                .thenReturn(bookingPage);
+        when(bookingRepository.existsCompletedBooking(eq(author.getId()), eq(item.getId()), any()))
+                .thenReturn(false);
 
         BadRequestException exception = assertThrows(BadRequestException.class,
                 () -> itemService.commentCreate(author.getId(), item.getId(), commentDto));
@@ -238,14 +245,19 @@ class ItemServiceImplTest {
 
     @Test
     void testGetOk() {
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.ofNullable(item));
-
-        when(bookingRepository.findLast(anyLong(), any(), any()))
-                .thenReturn(Booking.builder().id(1L).item(item).booker(author).build());
-
-        when(bookingRepository.findNext(anyLong(), any(), any()))
-                .thenReturn(Booking.builder().id(2L).item(item).booker(author).build());
+        Map<String, Object> detail = new HashMap<>();
+        detail.put("item", item);
+        detail.put("summaryItemId", item.getId());
+        detail.put("lastBooking", Booking.builder().id(1L).item(item).booker(author).build());
+        detail.put("nextBooking", Booking.builder().id(2L).item(item).booker(author).build());
+        detail.put("commentId", comment.getId());
+        detail.put("commentText", comment.getText());
+        detail.put("authorName", author.getName());
+        detail.put("commentCreated", comment.getCreated());
+
+        when(itemRepository.findDetail(eq(item.getId()), eq(owner.getId()), any()))
+                .thenReturn(List.of(new SpelAwareProxyProjectionFactory().createProjection(ItemDetailView.class,
+                        detail)));
 
         ItemDtoResponse actualItemDtoResponse = itemService.get(owner.getId(), item.getId());
         ItemDtoResponse expectedDtoResponse = itemDtoResponse;
@@ -255,16 +267,56 @@ class ItemServiceImplTest {
         expectedDtoResponse.setNextBooking(
                 BookingMapper.toBookingDto(Booking.builder().id(2L).item(item).booker(author).build())
         );
-
+        expectedDtoResponse.setComments(List.of(commentDtoResponse));
 
         assertNotNull(actualItemDtoResponse);
         assertEquals(expectedDtoResponse, actualItemDtoResponse);
+        verify(itemRepository, never()).findById(anyLong());
+        verify(commentRepository, never()).findAllByItemId(anyLong());
+        verify(bookingSummaryService, never()).getSummaries(anyList(), any());
+    }
+
+    @Test
+    void testGetWhenSummaryStale() {
+        Map<String, Object> detail = new HashMap<>();
+        detail.put("item", item);
+
+        when(itemRepository.findDetail(eq(item.getId()), eq(owner.getId()), any()))
+                .thenReturn(List.of(new SpelAwareProxyProjectionFactory().createProjection(ItemDetailView.class,
+                        detail)));
+
+        when(bookingSummaryService.getSummaries(eq(List.of(item.getId())), any()))
+                .thenReturn(Map.of(item.getId(), new ItemBookingSummary(item.getId(),
+                        Booking.builder().id(1L).item(item).booker(author).build(), null, null)));
+
+        ItemDtoResponse actualItemDtoResponse = itemService.get(owner.getId(), item.getId());
+
+        assertEquals(BookingMapper.toBookingDto(Booking.builder().id(1L).item(item).booker(author).build()),
+                actualItemDtoResponse.getLastBooking());
+        assertNull(actualItemDtoResponse.getNextBooking());
+        assertTrue(actualItemDtoResponse.getComments().isEmpty());
+    }
+
+    @Test
+    void testGetByOtherUserSkipsSummary() {
+        Map<String, Object> detail = new HashMap<>();
+        detail.put("item", item);
+
+        when(itemRepository.findDetail(eq(item.getId()), eq(author.getId()), any()))
+                .thenReturn(List.of(new SpelAwareProxyProjectionFactory().createProjection(ItemDetailView.class,
+                        detail)));
+
+        ItemDtoResponse actualItemDtoResponse = itemService.get(author.getId(), item.getId());
+
+        assertNull(actualItemDtoResponse.getLastBooking());
+        assertNull(actualItemDtoResponse.getNextBooking());
+        verify(bookingSummaryService, never()).getSummaries(anyList(), any());
     }
 
     @Test
     void testGetWhenItemNotFound() {
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.empty());
+        when(itemRepository.findDetail(eq(item.getId()), eq(owner.getId()), any()))
+                .thenReturn(Collections.emptyList());
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> itemService.get(owner.getId(), item.getId()));
@@ -281,11 +333,14 @@ class ItemServiceImplTest {
         )
                 .thenReturn(itemPage);
 
-        when(bookingRepository.findLast(anyLong(), any(), any()))
-                .thenReturn(Booking.builder().id(1L).item(item).booker(author).build());
+        when(bookingSummaryService.getSummaries(eq(List.of(item.getId())), any()))
+                .thenReturn(Map.of(item.getId(), new ItemBookingSummary(item.getId(),
+                        Booking.builder().id(1L).item(item).booker(author).build(),
+                        Booking.builder().id(2L).item(item).booker(author).build(),
+                        null)));
 
-        when(bookingRepository.findNext(anyLong(), any(), any()))
-                .thenReturn(Booking.builder().id(2L).item(item).booker(author).build());
+        when(commentRepository.findAllByItemIdIn(List.of(item.getId())))
+                .thenReturn(List.of(comment));
 
         List<ItemDtoResponse> actualItemDtoResponseList = itemService.getUserItems(owner.getId(), 0, 10);
         ItemDtoResponse expectedDtoResponse = itemDtoResponse;
@@ -295,9 +350,45 @@ class ItemServiceImplTest {
         expectedDtoResponse.setNextBooking(
                 BookingMapper.toBookingDto(Booking.builder().id(2L).item(item).booker(author).build())
         );
+        expectedDtoResponse.setComments(List.of(commentDtoResponse));
 
         assertNotNull(actualItemDtoResponseList);
         assertEquals(List.of(expectedDtoResponse), actualItemDtoResponseList);
+        verify(itemRepository, never()).findDetail(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testGetUserItemsWithoutBookings() {
+        Page<Item> itemPage = new PageImpl<>(Collections.singletonList(item));
+
+        when(itemRepository
+                .findAllByOwnerIdOrderById(owner.getId(), new MyPageRequest(0, 10, Sort.unsorted()))
+        )
+                .thenReturn(itemPage);
+
+        when(bookingSummaryService.getSummaries(anyList(), any()))
+                .thenReturn(Map.of(item.getId(), new ItemBookingSummary(item.getId(), null, null, null)));
+
+        when(commentRepository.findAllByItemIdIn(anyList()))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemDtoResponse> actualItemDtoResponseList = itemService.getUserItems(owner.getId(), 0, 10);
+
+        assertEquals(List.of(itemDtoResponse), actualItemDtoResponseList);
+    }
+
+    @Test
+    void testGetUserItemsEmptyPage() {
+        when(itemRepository
+                .findAllByOwnerIdOrderById(owner.getId(), new MyPageRequest(0, 10, Sort.unsorted()))
+        )
+                .thenReturn(Page.empty());
+
+        List<ItemDtoResponse> actualItemDtoResponseList = itemService.getUserItems(owner.getId(), 0, 10);
+
+        assertTrue(actualItemDtoResponseList.isEmpty());
+        verify(bookingSummaryService, never()).getSummaries(anyList(), any());
+        verify(commentRepository, never()).findAllByItemIdIn(anyList());
     }
 
     @Test
@@ -331,8 +422,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -360,8 +451,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -389,8 +480,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -418,8 +509,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -447,8 +538,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -476,8 +567,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -505,8 +596,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.ofNullable(item));
@@ -534,8 +625,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(false);
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> itemService.update(owner.getId(), item.getId(), updateItemDto));
@@ -555,8 +646,8 @@ class ItemServiceImplTest {
                 null
         );
 
-        when(userRepository.findById(owner.getId()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
 
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.empty());
@@ -600,4 +691,91 @@ class ItemServiceImplTest {
 
         assertEquals("User id=2 is not owner of item " + item, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAvailabilityMergesBusySlots() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findBusySlots(item.getId(), from, to))
+                .thenReturn(List.of(
+                        new TimeSlotDto(from.minusDays(2), from.minusDays(1)),
+                        new TimeSlotDto(from.minusHours(2), from.plusHours(1)),
+                        new TimeSlotDto(from.plusHours(4), from.plusHours(6)),
+                        new TimeSlotDto(from.plusHours(5), from.plusHours(8)),
+                        new TimeSlotDto(from.plusHours(8), from.plusHours(9)),
+                        new TimeSlotDto(from.plusHours(20), from.plusDays(2)),
+                        new TimeSlotDto(from.plusDays(3), from.plusDays(4))));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(owner.getId(), item.getId(), from, to);
+
+        assertEquals(List.of(
+                new TimeSlotDto(from, from.plusHours(1)),
+                new TimeSlotDto(from.plusHours(4), from.plusHours(9)),
+                new TimeSlotDto(from.plusHours(20), to)), availability.getBusy());
+        assertEquals(List.of(
+                new TimeSlotDto(from.plusHours(1), from.plusHours(4)),
+                new TimeSlotDto(from.plusHours(9), from.plusHours(20))), availability.getFree());
+    }
+
+    @Test
+    void testGetAvailabilityWhenNoBookings() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findBusySlots(item.getId(), from, to))
+                .thenReturn(List.of());
+
+        ItemAvailabilityDto availability = itemService.getAvailability(owner.getId(), item.getId(), from, to);
+
+        assertEquals(new ItemAvailabilityDto(item.getId(), from, to, List.of(), List.of(new TimeSlotDto(from, to))),
+                availability);
+    }
+
+    @Test
+    void testGetAvailabilityOfFutureRangeUsesUpcomingSlots() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(1);
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findUpcomingBusySlots(eq(item.getId()), any()))
+                .thenReturn(List.of(new TimeSlotDto(from.minusDays(1), from.plusHours(1))));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(owner.getId(), item.getId(), from, to);
+
+        assertEquals(List.of(new TimeSlotDto(from, from.plusHours(1))), availability.getBusy());
+        assertEquals(List.of(new TimeSlotDto(from.plusHours(1), to)), availability.getFree());
+        verify(bookingRepository, never()).findBusySlots(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetAvailabilityWhenRangeIsEmpty() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertThrows(BadRequestException.class,
+                () -> itemService.getAvailability(owner.getId(), item.getId(), from, from));
+        verify(bookingRepository, never()).findBusySlots(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetAvailabilityWhenItemNotFound() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(userRepository.existsById(owner.getId()))
+                .thenReturn(true);
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(false);
+
+        DataNotFoundException exception = assertThrows(DataNotFoundException.class,
+                () -> itemService.getAvailability(owner.getId(), item.getId(), from, from.plusDays(1)));
+
+        assertEquals("Item id=1", exception.getMessage());
+    }
+}
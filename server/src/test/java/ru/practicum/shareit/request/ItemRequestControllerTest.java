@@ -9,6 +9,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -33,6 +34,9 @@ class ItemRequestControllerTest {
     @MockBean
     ItemRequestService requestService;
 
+    @MockBean
+    IdempotencyService idempotencyService;
+
     @Autowired
     MockMvc mvc;
 
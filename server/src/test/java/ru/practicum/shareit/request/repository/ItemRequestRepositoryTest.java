@@ -4,13 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -48,14 +51,14 @@ class ItemRequestRepositoryTest {
                 1L,
                 "request description",
                 requestor,
-                LocalDateTime.now().minusHours(1)
+                LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS)
         ));
 
     }
 
     @Test
     void findAllByRequestorId() {
-        Page<ItemRequest> requestPage = requestRepository.findAllByRequestorId(
+        Slice<ItemRequest> requestPage = requestRepository.findAllByRequestorId(
                 requestor.getId(), Pageable.unpaged()
         );
 
@@ -65,7 +68,7 @@ class ItemRequestRepositoryTest {
 
     @Test
     void findAllByRequestorIdNot() {
-        Page<ItemRequest> requestPageSecond = requestRepository.findAllByRequestorIdNot(
+        Slice<ItemRequest> requestPageSecond = requestRepository.findAllByRequestorIdNot(
                 noRequestor.getId(), Pageable.unpaged()
         );
 
@@ -73,4 +76,20 @@ class ItemRequestRepositoryTest {
         assertEquals(request, requestPageSecond.toList().get(0));
     }
 
-}
\ No newline at end of file
+    @Test
+    void findAllByRequestorIdNotAfter() {
+        ItemRequest later = requestRepository.save(new ItemRequest(
+                null,
+                "later request description",
+                requestor,
+                LocalDateTime.now()
+        ));
+
+        Slice<ItemRequest> requestPage = requestRepository.findAllByRequestorIdNotAfter(
+                noRequestor.getId(), request.getCreated(), request.getId(), PageRequest.of(0, 10)
+        );
+
+        assertEquals(List.of(later), requestPage.toList());
+    }
+
+}
@@ -54,7 +54,7 @@ class ItemRequestServiceImplTest {
             "request description",
             1L,
             LocalDateTime.now().withSecond(0).withNano(0),
-            Collections.singletonList(ItemDto.builder().id(1L).build())
+            Collections.singletonList(ItemDto.builder().id(1L).requestId(1L).build())
     );
 
     User requestor = new User().builder().id(1L).build();
@@ -97,27 +97,27 @@ class ItemRequestServiceImplTest {
 
     @Test
     void testGetRequestOk() {
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.ofNullable(requestor));
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(true);
 
         when(requestRepository.findById(request.getId()))
                 .thenReturn(Optional.ofNullable(request));
 
-        when(itemRepository.findAllByRequestIdOrderById(1L))
-                .thenReturn(Collections.singletonList(Item.builder().id(1L).build()));
+        when(itemRepository.findAllByRequestIdInOrderById(List.of(1L)))
+                .thenReturn(Collections.singletonList(Item.builder().id(1L).request(request).build()));
 
         ItemRequestDto actualRequestDto = requestService.getRequest(requestor.getId(), requestDto.getId());
 
         assertNotNull(actualRequestDto);
         assertEquals(requestDto, actualRequestDto);
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
         verify(requestRepository, times(1)).findById(anyLong());
     }
 
     @Test
     void testGetRequestRequestorNotFound() {
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(false);
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> requestService.getRequest(requestor.getId(), request.getId()));
@@ -128,8 +128,8 @@ class ItemRequestServiceImplTest {
 
     @Test
     void testGetRequestNotFound() {
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.ofNullable(requestor));
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(true);
 
         when(requestRepository.findById(request.getId()))
                 .thenReturn(Optional.empty());
@@ -138,7 +138,7 @@ class ItemRequestServiceImplTest {
                 () -> requestService.getRequest(requestor.getId(), request.getId()));
 
         assertEquals("Request Id=1", exception.getMessage());
-        verify(itemRepository, never()).findAllByRequestIdOrderById(anyLong());
+        verify(itemRepository, never()).findAllByRequestIdInOrderById(anyList());
     }
 
     @Test
@@ -146,28 +146,28 @@ class ItemRequestServiceImplTest {
         Page<ItemRequest> requests = new PageImpl<>(Collections.singletonList(request));
         List<ItemRequestDto> requestDtos = Collections.singletonList(requestDto);
 
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.ofNullable(requestor));
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(true);
 
         when(requestRepository.findAllByRequestorId(requestor.getId(),
                 new MyPageRequest(0, 10, Sort.by("id"))))
                 .thenReturn(requests);
 
-        when(itemRepository.findAllByRequestIdOrderById(1L))
-                .thenReturn(Collections.singletonList(Item.builder().id(1L).build()));
+        when(itemRepository.findAllByRequestIdInOrderById(List.of(1L)))
+                .thenReturn(Collections.singletonList(Item.builder().id(1L).request(request).build()));
 
         List<ItemRequestDto> actualRequestDtos = requestService.getUserRequests(requestor.getId(), 0, 10);
 
         assertNotNull(actualRequestDtos);
         assertEquals(requestDtos, actualRequestDtos);
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
         verify(requestRepository, times(1)).findAllByRequestorId(anyLong(), any());
     }
 
     @Test
     void testGetUserRequestsUserNotFound() {
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(false);
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> requestService.getUserRequests(requestor.getId(), 0, 10));
@@ -182,28 +182,28 @@ class ItemRequestServiceImplTest {
         Page<ItemRequest> requests = new PageImpl<>(Collections.singletonList(request));
         List<ItemRequestDto> requestDtos = Collections.singletonList(requestDto);
 
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.ofNullable(requestor));
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(true);
 
         when(requestRepository.findAllByRequestorIdNot(requestor.getId(),
-                new MyPageRequest(0, 10, Sort.by("created"))))
+                new MyPageRequest(0, 10, Sort.by("created", "id"))))
                 .thenReturn(requests);
 
-        when(itemRepository.findAllByRequestIdOrderById(1L))
-                .thenReturn(Collections.singletonList(Item.builder().id(1L).build()));
+        when(itemRepository.findAllByRequestIdInOrderById(List.of(1L)))
+                .thenReturn(Collections.singletonList(Item.builder().id(1L).request(request).build()));
 
         List<ItemRequestDto> actualRequestDtos = requestService.getAllRequests(requestor.getId(), 0, 10);
 
         assertNotNull(actualRequestDtos);
         assertEquals(requestDtos, actualRequestDtos);
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
         verify(requestRepository, times(1)).findAllByRequestorIdNot(anyLong(), any());
     }
 
     @Test
     void testGetAllRequestsUserNotFound() {
-        when(userRepository.findById(requestor.getId()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(requestor.getId()))
+                .thenReturn(false);
 
         DataNotFoundException exception = assertThrows(DataNotFoundException.class,
                 () -> requestService.getAllRequests(requestor.getId(), 0, 10));